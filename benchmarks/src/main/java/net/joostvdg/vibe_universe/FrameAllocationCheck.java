@@ -0,0 +1,144 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Allocation regression gate for the steady-state SIM frame (run by {@code gradle :benchmarks:allocationCheck},
+ * part of {@code check}). Each frame runs {@link SimFrame#update}, the same GL-free pass VibeUniverse.render()
+ * calls, between the profiler's {@code beginFrame}/{@code endFrame}, over a Sol-sized system with a 30k main belt
+ * and an orbiting camera. That covers propagation (solved, and read from an {@link EphemerisCache}), spin, the
+ * transform and belt readback, culling, LOD and impostor selection, the instanced and impostor packing (the model
+ * batch list on the serial run), rings, orbit re-tessellation decisions, axes, the HUD status text and the profiler
+ * bookkeeping. Not covered is what needs a GL context: uploads and draw calls, and laying text out in a font.
+ *
+ * After a warm-up (lazily grown buffers have settled and a round of frames no longer triggers JIT compilation)
+ * the measured frames must allocate exactly zero bytes, counting the render thread and, for the parallel run,
+ * the propagation pool's workers (not the ephemeris worker, which fits windows off the frame). Anything else
+ * exits non-zero with the per-frame figure.
+ */
+public final class FrameAllocationCheck {
+    static final int PLANETS = 9, MOONS_PER_PLANET = 2, BELT = 30000;
+    static final int WARMUP_FRAMES = 5000, WARMUP_ROUND = 1000, MAX_WARMUP_ROUNDS = 30, FRAMES = 1000;
+    static final float TIME_SCALE = 10f;
+
+    private final UniverseSim sim = new UniverseSim(PLANETS * (1 + MOONS_PER_PLANET) + BELT);
+    private final Array<SceneBody> planets = new Array<>(), moons = new Array<>();
+    private final Array<Belt> belts = new Array<>();
+    private final PerspectiveCamera camera = new PerspectiveCamera(67, 1280, 720);
+    private final FrameProfiler profiler = new FrameProfiler(null);
+    private final BodyInstances instances;
+    private final SimFrame<SceneBody> frame;
+    private final EphemerisCache ephemeris;
+    private final long[] threadIds = new long[16];
+    private int threadCount, cameraVersion;
+    private double simTimeDays;
+    private float camYawDeg, sink;
+
+    FrameAllocationCheck(boolean parallel, boolean cached, boolean instanced){
+        Random rnd = new Random(7);
+        sim.setParallel(parallel);
+        threadIds[threadCount++] = Thread.currentThread().getId();
+        if (parallel){
+            // a private pool (the common pool may have a single worker here) whose threads are counted too
+            sim.setPool(new ForkJoinPool(4, pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setDaemon(true);
+                synchronized (threadIds){ threadIds[threadCount++] = t.getId(); }
+                return t;
+            }, null, false));
+        }
+        // planets, then the belt, then moons (sim depth order, as VibeUniverse registers them)
+        for (int i=0;i<PLANETS;i++){
+            SceneBody p = new SceneBody(null, rnd.nextFloat()*0.1f, rnd.nextFloat()*30f, 0.4f + rnd.nextFloat());
+            p.orbitA = 5f + i*12f;
+            p.simIndex = sim.add(p.orbitA, p.e, 88f*(i+1)*(i+1), rnd.nextFloat()*7f, 0.4f + rnd.nextFloat(), UniverseSim.NO_PARENT);
+            p.surface = TextureSpec.speckle(512, 256, new float[]{ rnd.nextFloat(), 0.5f, 0.5f }, new float[]{ 0.4f, 0.4f, 0.4f }, 0.002f);
+            if (i % 3 == 2) p.rings = new RingSpec(2.5f, 4f, 1f, 1f, 1f, 1f);
+            p.ringInner = p.drawnRadius() * 2.5f; p.ringOuter = p.drawnRadius() * 4f;
+            planets.add(p);
+        }
+        Belt belt = Belt.generate("Main belt", BELT, 7L, 2.1f, 3.3f, 0f, 0.25f, 0f, 15f, 0.05f, 1f, Color.GRAY);
+        belt.register(sim, new SystemLayout());
+        belts.add(belt);
+        for (int i=0;i<PLANETS*MOONS_PER_PLANET;i++){
+            SceneBody m = new SceneBody(planets.get(i % PLANETS), rnd.nextFloat()*0.05f, 0f, 0.1f + rnd.nextFloat()*0.2f);
+            m.orbitA = 1f + rnd.nextFloat();
+            m.simIndex = sim.add(m.orbitA, m.e, 1f + rnd.nextFloat()*20f, rnd.nextFloat()*5f, 1f, m.parent.simIndex);
+            moons.add(m);
+        }
+        ephemeris = cached ? new EphemerisCache() : null;
+        if (cached) sim.setEphemeris(ephemeris);
+        instances = instanced ? new BodyInstances() : null;
+        frame = new SimFrame<>(sim, ephemeris, camera, profiler, planets, moons, belts, instances, new ImpostorPoints(), 2f);
+        camera.near = 0.1f; camera.far = 5000f;
+    }
+
+    /** One SIM frame's CPU work, with the camera orbiting the star as if dragged. */
+    void frame(float dt){
+        simTimeDays += TIME_SCALE * dt;
+        camYawDeg += 3f * dt;
+        float yaw = camYawDeg * MathUtils.degreesToRadians;
+        camera.position.set(90f * MathUtils.cos(yaw), 40f, 90f * MathUtils.sin(yaw));
+        camera.up.set(0f, 1f, 0f); camera.lookAt(0f, 0f, 0f); camera.update();
+        cameraVersion++;
+        profiler.beginFrame();
+        frame.update(dt, simTimeDays, TIME_SCALE, false, false, true, true, false, cameraVersion, 60);
+        profiler.endFrame();
+        sink += frame.meshBodies.size + frame.axes.size + frame.hudStatus.text().length();
+    }
+
+    /** Bytes allocated by the frame's threads over {@link #FRAMES} frames, after warm-up. */
+    long measure(){
+        for (int i=0;i<WARMUP_FRAMES;i++) frame(1f/60f);
+        // then until a whole round compiles nothing, so no tier-up lands inside the measured frames
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        for (int round=0; round<MAX_WARMUP_ROUNDS; round++){
+            long compiling = jit.getTotalCompilationTime();
+            for (int i=0;i<WARMUP_ROUND;i++) frame(1f/60f);
+            if (jit.getTotalCompilationTime() == compiling) break;
+        }
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long base = allocated(mx);
+        long overhead = allocated(mx) - base;                         // cost of the probe itself
+        long before = allocated(mx);
+        for (int i=0;i<FRAMES;i++) frame(1f/60f);
+        long bytes = allocated(mx) - before - overhead;
+        return Math.max(0L, bytes);
+    }
+
+    private long allocated(com.sun.management.ThreadMXBean mx){
+        long sum = 0;
+        synchronized (threadIds){ for (int i=0;i<threadCount;i++) sum += Math.max(0L, mx.getThreadAllocatedBytes(threadIds[i])); }
+        return sum;
+    }
+
+    public static void main(String[] args){
+        GdxNativesLoader.load();   // the camera's frustum update and the palette pixmap are native
+        boolean failed = false;
+        for (int run=0; run<3; run++){
+            boolean parallel = run == 1, cached = run == 2, instanced = run != 0;
+            FrameAllocationCheck check = new FrameAllocationCheck(parallel, cached, instanced);
+            long bytes = check.measure();
+            System.out.println("SIM frame (" + (parallel ? "parallel" : cached ? "ephemeris" : "serial, model batch") + "): " + bytes + " bytes over " + FRAMES + " frames ("
+                    + (bytes / (double)FRAMES) + " bytes/frame) [" + check.sink + "]"
+                    + (cached ? " " + check.ephemeris.hits() + " hits, " + check.ephemeris.misses() + " misses" : ""));
+            if (cached) check.ephemeris.dispose();
+            if (instanced) check.instances.dispose();
+            failed |= bytes > 0;
+        }
+        if (failed){
+            System.err.println("FAIL: the steady-state frame path must not allocate");
+            System.exit(1);
+        }
+    }
+}
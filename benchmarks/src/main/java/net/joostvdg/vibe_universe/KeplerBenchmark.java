@@ -0,0 +1,68 @@
+package net.joostvdg.vibe_universe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * M→E solve: one scalar call per body versus the batch solver over the whole array
+ * (SIMD when the forked JVM has jdk.incubator.vector, see KeplerBatch).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeplerBenchmark {
+    private static final int SAMPLES = 1024;
+
+    @Param({"0.0", "0.2", "0.6", "0.9"})
+    public float eccentricity;
+
+    private final float[] meanAnomaly = new float[SAMPLES];
+    private final float[] ecc = new float[SAMPLES];
+    private final float[] eccAnomaly = new float[SAMPLES];
+
+    @Setup
+    public void setup(){
+        Random rnd = new Random(42);
+        for (int i=0;i<SAMPLES;i++) meanAnomaly[i] = (rnd.nextFloat()*2f-1f)*(float)Math.PI;
+        Arrays.fill(ecc, eccentricity);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float keplerSolve(){
+        float acc = 0f;
+        for (int i=0;i<SAMPLES;i++) acc += KeplerBatch.solve(meanAnomaly[i], eccentricity);
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float[] batchScalar(){
+        KeplerBatch.solveScalar(meanAnomaly, ecc, eccAnomaly, 0, SAMPLES);
+        return eccAnomaly;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float[] batch(){
+        KeplerBatch.solve(meanAnomaly, ecc, eccAnomaly, 0, SAMPLES);
+        return eccAnomaly;
+    }
+}
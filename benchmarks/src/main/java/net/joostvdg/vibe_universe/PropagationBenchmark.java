@@ -0,0 +1,67 @@
+package net.joostvdg.vibe_universe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of propagation over a synthetic system: planets (the old Body.updatePosition path)
+ * plus optional moons riding on their parent's position (the old Moon.updatePosition path),
+ * serial versus fork-join (the sim stays serial below UniverseSim.PARALLEL_THRESHOLD anyway).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropagationBenchmark {
+    @Param({"100", "10000", "100000"})
+    public int bodyCount;
+
+    @Param({"0.05", "0.6"})
+    public float eccentricity;
+
+    @Param({"0", "4"})
+    public int moonsPerPlanet;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private UniverseSim sim;
+    private float days;
+
+    @Setup
+    public void setup(){
+        Random rnd = new Random(42);
+        int planets = Math.max(1, bodyCount / (1 + moonsPerPlanet));
+        sim = new UniverseSim(bodyCount);
+        sim.setParallel(parallel);
+        for (int i=0;i<planets;i++){
+            sim.add(10f + rnd.nextFloat()*300f, eccentricity, 50f + rnd.nextFloat()*60000f, rnd.nextFloat()*10f, 0.4f + rnd.nextFloat(), UniverseSim.NO_PARENT);
+        }
+        for (int i=0;i<planets*moonsPerPlanet;i++){
+            sim.add(1f + rnd.nextFloat()*4f, eccentricity*0.5f, 0.3f + rnd.nextFloat()*20f, rnd.nextFloat()*5f, 1f, i % planets);
+        }
+        days = 0f;
+    }
+
+    @Benchmark
+    public UniverseSim update(){
+        days += 0.37f;
+        sim.update(days);
+        sim.updateSpinRealistic(days);
+        return sim;
+    }
+}
@@ -0,0 +1,56 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** CPU texture generation (pixmap only, no GL upload). Size is the width; height is half of it. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextureBenchmark {
+    @Param({"256", "512", "1024"})
+    public int size;
+
+    // Jupiter's bands and the generic moon speckle from the embedded Sol model
+    private final Color[] bands = {
+            new Color(0.85f,0.78f,0.66f,1f), new Color(0.9f,0.82f,0.7f,1f), new Color(0.8f,0.7f,0.58f,1f),
+            new Color(0.9f,0.82f,0.7f,1f), new Color(0.78f,0.7f,0.58f,1f), new Color(0.9f,0.82f,0.7f,1f)
+    };
+    private final Color speckBase = new Color(0.8f,0.8f,0.85f,1f), speck = new Color(0.7f,0.7f,0.75f,1f);
+
+    @Setup
+    public void setup(){ GdxNativesLoader.load(); }
+
+    @Benchmark
+    public int banded(){
+        Pixmap pm = ProceduralTextures.banded(size, size/2, bands, 0.08f);
+        int px = pm.getPixel(size/2, size/4);
+        pm.dispose();
+        return px;
+    }
+
+    @Benchmark
+    public int speckle(){
+        Pixmap pm = ProceduralTextures.speckle(size, size/2, speckBase, speck, 0.0025f, 42L);
+        int px = pm.getPixel(size/2, size/4);
+        pm.dispose();
+        return px;
+    }
+}
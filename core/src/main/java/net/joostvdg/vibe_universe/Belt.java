@@ -0,0 +1,62 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+/** A "belt" body: many small particles that only exist as a slot range in the sim plus packed per-particle data. */
+final class Belt {
+    final String name; final int count; final Color color;
+    // per particle; aAU is kept to redo the layout when compression toggles
+    final float[] aAU, e, inc, period, lon, phase, radius;
+    final float[] instances;   // xyz + radius per particle, as BeltRenderer uploads them
+    int simStart = -1;
+
+    Belt(String name,int count,Color color){
+        this.name=name; this.count=count; this.color=new Color(color);
+        aAU=new float[count]; e=new float[count]; inc=new float[count]; period=new float[count];
+        lon=new float[count]; phase=new float[count]; radius=new float[count];
+        instances=new float[count*4];
+    }
+
+    /**
+     * A belt of {@code count} particles drawn from {@code seed}: a, e and inclination uniform in their ranges
+     * (inclination mirrored at random). Periods follow Kepler's third law around a star of {@code starMass} solar masses.
+     */
+    static Belt generate(String name, int count, long seed, float aMin, float aMax, float eMin, float eMax,
+                         float incMin, float incMax, float size, float starMass, Color color){
+        count=MathUtils.clamp(count, 0, BeltRenderer.MAX_INSTANCES);
+        Belt belt=new Belt(name, count, color);
+        RandomXS128 rnd=new RandomXS128(seed);
+        for (int i=0;i<count;i++){
+            float a=MathUtils.lerp(aMin, aMax, rnd.nextFloat());
+            belt.aAU[i]=a;
+            belt.e[i]=MathUtils.lerp(eMin, eMax, rnd.nextFloat());
+            belt.inc[i]=MathUtils.lerp(incMin, incMax, rnd.nextFloat()) * (rnd.nextBoolean() ? 1f : -1f);
+            belt.period[i]=(float)(365.256 * Math.pow(a, 1.5) / Math.sqrt(starMass));
+            belt.lon[i]=rnd.nextFloat()*360f;
+            belt.phase[i]=rnd.nextFloat();
+            belt.radius[i]=size*(0.5f + rnd.nextFloat());
+        }
+        return belt;
+    }
+
+    /** Adds the particles to {@code sim} (unparented) with the current layout and remembers where they start. */
+    void register(UniverseSim sim, SystemLayout layout){
+        simStart = sim.count();
+        for (int i=0;i<count;i++) sim.add(layout.orbitAWorld(aAU[i]), e[i], period[i], inc[i], 0f, UniverseSim.NO_PARENT, lon[i], phase[i]);
+    }
+
+    /** Re-applies the layout after a compression toggle. */
+    void relayout(UniverseSim sim, SystemLayout layout){
+        for (int i=0;i<count;i++) sim.setSemiMajorAxis(simStart+i, layout.orbitAWorld(aAU[i]));
+    }
+
+    /** Copies the particles' propagated positions (and radii) into {@link #instances}. */
+    void pack(UniverseSim sim){
+        for (int i=0,k=0;i<count;i++){
+            int s=simStart+i;
+            instances[k++]=sim.x(s); instances[k++]=sim.y(s); instances[k++]=sim.z(s); instances[k++]=radius[i];
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws belt particles in one draw call per belt, from the positions {@link Belt#pack} copied out of the sim.
+ *
+ * On GL30 a single small rock mesh is instanced once per particle (instance attribute {@code a_offset}
+ * = world position + radius). Without GL30 the particles fall back to one {@code GL_POINTS} batch.
+ */
+public class BeltRenderer implements Disposable {
+    public static final int MAX_INSTANCES = 262144;
+    private static final int FLOATS_PER_INSTANCE = 4;
+    private static final int GL_VERTEX_PROGRAM_POINT_SIZE = 0x8642; // desktop GL only
+
+    private final boolean instanced;
+    private final ShaderProgram shader;
+    private final Mesh mesh;
+
+    public BeltRenderer(){
+        instanced = Gdx.gl30 != null;
+        String vert = Gdx.files.internal("shaders/belt.vert").readString("UTF-8");
+        String frag = Gdx.files.internal("shaders/belt.frag").readString("UTF-8");
+        shader = new ShaderProgram(instanced ? vert : "#define POINTS\n" + vert, frag);
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Belt shader failed to compile: " + shader.getLog());
+
+        VertexAttribute offset = new VertexAttribute(Usage.Generic, 4, "a_offset");
+        if (instanced){
+            // unit octahedron; normals = positions
+            float[] v = {
+                     1,0,0,  1,0,0,   -1,0,0, -1,0,0,
+                     0,1,0,  0,1,0,    0,-1,0, 0,-1,0,
+                     0,0,1,  0,0,1,    0,0,-1, 0,0,-1 };
+            short[] idx = { 0,2,4, 2,1,4, 1,3,4, 3,0,4, 2,0,5, 1,2,5, 3,1,5, 0,3,5 };
+            mesh = new Mesh(true, 6, idx.length,
+                    new VertexAttribute(Usage.Position, 3, ShaderProgram.POSITION_ATTRIBUTE),
+                    new VertexAttribute(Usage.Normal, 3, ShaderProgram.NORMAL_ATTRIBUTE));
+            mesh.setVertices(v);
+            mesh.setIndices(idx);
+            mesh.enableInstancedRendering(false, MAX_INSTANCES, offset);
+        } else {
+            mesh = new Mesh(false, MAX_INSTANCES, 0, offset);
+        }
+    }
+
+    public boolean isInstanced(){ return instanced; }
+
+    /** Draws {@code count} particles from {@code data} (xyz + radius each, see {@link Belt#pack}). */
+    public void render(Camera cam, float[] data, int count, Color color, Color light, float ambient){
+        count = Math.min(count, MAX_INSTANCES);
+        if (count <= 0) return;
+        if (instanced) mesh.setInstanceData(data, 0, count * FLOATS_PER_INSTANCE);
+        else mesh.setVertices(data, 0, count * FLOATS_PER_INSTANCE);
+
+        Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
+        Gdx.gl.glDepthMask(true);
+        if (!instanced) Gdx.gl.glEnable(GL_VERTEX_PROGRAM_POINT_SIZE);
+        shader.bind();
+        shader.setUniformMatrix("u_projViewTrans", cam.combined);
+        shader.setUniformf("u_color", color.r, color.g, color.b);
+        shader.setUniformf("u_lightColor", light.r, light.g, light.b);
+        shader.setUniformf("u_ambient", ambient);
+        if (instanced) mesh.render(shader, GL20.GL_TRIANGLES);
+        else mesh.render(shader, GL20.GL_POINTS, 0, count);
+        Gdx.gl.glDisable(GL20.GL_DEPTH_TEST);
+    }
+
+    @Override public void dispose(){
+        mesh.dispose();
+        shader.dispose();
+    }
+}
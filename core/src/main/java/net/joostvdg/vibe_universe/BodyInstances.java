@@ -0,0 +1,103 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * The CPU side of {@link InstancedBodyRenderer}: one instance array per {@link SphereLods} level, filled by
+ * {@link SimFrame} each frame, and the material table with its palette pixmap (one row per distinct surface or flat
+ * colour). No GL here; the renderer uploads the arrays and the palette when it draws.
+ */
+public class BodyInstances implements Disposable {
+    static final int FLOATS_PER_INSTANCE = 18;   // 3 x vec4 transform rows, vec4 surface, vec2 grid
+    private static final int FLOATS_PER_MATERIAL = 5;    // type, params.x, params.y, grid w, grid h
+    static final int PALETTE_WIDTH = ProceduralSurfaceShader.MAX_BANDS + 2;
+    private static final float TYPE_FLAT = 2f;
+
+    private final float[][] data = new float[SphereLods.SEGMENTS.length][];
+    private final int[] counts = new int[data.length];
+
+    // ----- Materials -----
+    private final FloatArray materials = new FloatArray();
+    private final ObjectIntMap<TextureSpec> specRows = new ObjectIntMap<>();
+    private final IntIntMap flatRows = new IntIntMap();
+    private Pixmap palette = new Pixmap(PALETTE_WIDTH, 64, Pixmap.Format.RGBA8888);
+    private boolean paletteDirty;
+
+    public BodyInstances(){
+        for (int i=0;i<data.length;i++) data[i] = new float[64 * FLOATS_PER_INSTANCE];
+    }
+
+    /**
+     * Registers a body surface ({@code null}: flat {@code flat} colour) and returns its material index for {@link #add};
+     * bodies with the same surface share one index.
+     */
+    public int material(TextureSpec spec, Color flat){
+        int flatKey = Color.rgba8888(flat.r, flat.g, flat.b, 1f);
+        int known = spec != null ? specRows.get(spec, -1) : flatRows.get(flatKey, -1);
+        if (known >= 0) return known;
+        int row = materials.size / FLOATS_PER_MATERIAL;
+        if (spec != null) specRows.put(spec, row); else flatRows.put(flatKey, row);
+        if (row == palette.getHeight()){
+            Pixmap grown = new Pixmap(PALETTE_WIDTH, row * 2, Pixmap.Format.RGBA8888);
+            grown.drawPixmap(palette, 0, 0);
+            palette.dispose();
+            palette = grown;
+        }
+        if (spec == null){
+            materials.addAll(TYPE_FLAT, 0f, 0f, 1f, 1f);
+            palette.drawPixel(0, row, flatKey);
+        } else if (spec.type == TextureSpec.Type.BANDED){
+            int n = Math.min(spec.bands.length, ProceduralSurfaceShader.MAX_BANDS);
+            materials.addAll(1f, spec.jitter, n, spec.width, spec.height);
+            for (int i=0;i<n;i++) palette.drawPixel(2 + i, row, Color.rgba8888(spec.bands[i][0], spec.bands[i][1], spec.bands[i][2], 1f));
+        } else {
+            // same small seed as ProceduralSurfaceShader, so both paths draw the same specks
+            materials.addAll(0f, spec.density, spec.hashCode() & 1023, spec.width, spec.height);
+            palette.drawPixel(0, row, Color.rgba8888(spec.colorA[0], spec.colorA[1], spec.colorA[2], 1f));
+            palette.drawPixel(1, row, Color.rgba8888(spec.colorB[0], spec.colorB[1], spec.colorB[2], 1f));
+        }
+        paletteDirty = true;
+        return row;
+    }
+
+    /** Forgets every material (on system change); indices handed out before become invalid. */
+    public void clearMaterials(){ materials.clear(); specRows.clear(); flatRows.clear(); }
+
+    // ----- Frame -----
+    public void begin(){ for (int i=0;i<counts.length;i++) counts[i] = 0; }
+
+    /** Queues one body drawn with LOD {@code level}'s sphere, {@code transform} and material {@code material}. */
+    public void add(int level, Matrix4 transform, int material){
+        if ((counts[level] + 1) * FLOATS_PER_INSTANCE > data[level].length){
+            float[] grown = new float[data[level].length * 2];
+            System.arraycopy(data[level], 0, grown, 0, counts[level] * FLOATS_PER_INSTANCE);
+            data[level] = grown;
+        }
+        float[] d = data[level], t = transform.val, m = materials.items;
+        int k = counts[level]++ * FLOATS_PER_INSTANCE, mk = material * FLOATS_PER_MATERIAL;
+        d[k++]=t[Matrix4.M00]; d[k++]=t[Matrix4.M01]; d[k++]=t[Matrix4.M02]; d[k++]=t[Matrix4.M03];
+        d[k++]=t[Matrix4.M10]; d[k++]=t[Matrix4.M11]; d[k++]=t[Matrix4.M12]; d[k++]=t[Matrix4.M13];
+        d[k++]=t[Matrix4.M20]; d[k++]=t[Matrix4.M21]; d[k++]=t[Matrix4.M22]; d[k++]=t[Matrix4.M23];
+        d[k++]=m[mk]; d[k++]=m[mk+1]; d[k++]=m[mk+2]; d[k++]=material;   // row; the shader divides by the palette height at draw time
+        d[k++]=m[mk+3]; d[k]=m[mk+4];
+    }
+
+    int levels(){ return data.length; }
+    /** Bodies queued at {@code level} since {@link #begin()}. */
+    int count(int level){ return counts[level]; }
+    float[] data(int level){ return data[level]; }
+    /** Instances {@code level}'s array holds before it has to grow. */
+    int capacity(int level){ return data[level].length / FLOATS_PER_INSTANCE; }
+
+    Pixmap palette(){ return palette; }
+    boolean paletteDirty(){ return paletteDirty; }
+    void paletteUploaded(){ paletteDirty = false; }
+
+    @Override public void dispose(){ palette.dispose(); }
+}
@@ -0,0 +1,296 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Piecewise Chebyshev ephemeris: a background thread samples a {@link Source} and fits every body's position
+ * (relative to its parent) over fixed time windows, so reading a position is a few multiply-adds however the
+ * source computes it (a Kepler solve today, an integrator later). Time is cut into windows of
+ * {@link #windowDays()}; within a window each body gets a power-of-two number of segments, enough for
+ * {@link #SEGMENTS_PER_PERIOD} per orbit, each fitted with {@link #COEFFS} coefficients per axis at the Chebyshev
+ * nodes. Bodies that would need more than {@link #MAX_SEGMENTS} are left to the source ({@link Window#evaluate}
+ * returns false).
+ *
+ * The window under the playhead and the next {@link #AHEAD} in the direction of play are prefetched; a window
+ * that isn't ready yet is simply a miss and the caller propagates directly. Windows live in a few slots handed
+ * between the threads by state (free, filling, ready): the worker only writes slots it claimed free, the reading
+ * thread only reads and releases ready ones, so the read side never locks or allocates. The per-body layout of a
+ * window is built on the worker too, so a new source or playback rate costs the reading thread nothing.
+ */
+public final class EphemerisCache implements Disposable {
+    /** Places bodies relative to their parents at any time. Called from the cache's worker thread only. */
+    public interface Source {
+        int count();
+        /** Shortest period (days) of body {@code i}'s motion; sets how finely it is fitted. */
+        double period(int i);
+        /** Writes the positions of {@code bodies[0..n)} at {@code days} to {@code x/y/z[at..at+n)}. */
+        void sample(double days, int[] bodies, int n, float[] x, float[] y, float[] z, int at);
+    }
+
+    static final int COEFFS = 8;
+    static final int SEGMENTS_PER_PERIOD = 8;
+    static final int MAX_SEGMENTS = 4096;
+    static final int AHEAD = 2;
+    static final double MIN_WINDOW_DAYS = 4.0, MAX_WINDOW_DAYS = 8192.0;
+    static final double WINDOW_SECONDS = 2.0;          // of playback per window, at the current rate
+    static final long MAX_FLOATS_PER_WINDOW = 2L << 20; // windows shrink until their coefficients fit
+    private static final int SLOTS = AHEAD + 2;
+    private static final int FREE = 0, FILLING = 1, READY = 2;
+    private static final double[] NODES = new double[COEFFS];             // Chebyshev nodes on [-1,1]
+    private static final float[] FIT = new float[COEFFS * COEFFS];        // node value -> coefficient weights
+    static {
+        for (int k=0;k<COEFFS;k++) NODES[k] = Math.cos(Math.PI * (k + 0.5) / COEFFS);
+        for (int j=0;j<COEFFS;j++)
+            for (int k=0;k<COEFFS;k++)
+                FIT[j*COEFFS + k] = (float)((j == 0 ? 1.0 : 2.0) / COEFFS * Math.cos(Math.PI * j * (k + 0.5) / COEFFS));
+    }
+
+    /** What to fit: the source and the preferred window length, as last set by the reading thread. */
+    private static final class Request {
+        final Source source;
+        final double preferredDays;
+        Request(Source source, double preferredDays){ this.source = source; this.preferredDays = preferredDays; }
+    }
+
+    /** Window length, per-body segment counts and coefficient offsets for one request; immutable, built by the worker. */
+    private static final class Layout {
+        final Request request;
+        final Source source;
+        final double windowDays;
+        final int[] segments, offset;   // segments 0: not cached
+        final int[][] groups;           // bodies by segment count (index log2), so each node time is sampled once per group
+        final int floats;
+
+        Layout(Request request){
+            this.request = request;
+            this.source = request.source;
+            int n = source.count();
+            segments = new int[n]; offset = new int[n];
+            double days = request.preferredDays;
+            while (days > MIN_WINDOW_DAYS && floats(source, days) > MAX_FLOATS_PER_WINDOW) days *= 0.5;
+            windowDays = days;
+            IntArray[] byLog = new IntArray[Integer.numberOfTrailingZeros(MAX_SEGMENTS) + 1];
+            int at = 0;
+            for (int i=0;i<n;i++){
+                int s = segmentsFor(source.period(i), days);
+                segments[i] = s; offset[i] = at;
+                at += s * 3 * COEFFS;
+                if (s == 0) continue;
+                int g = Integer.numberOfTrailingZeros(s);
+                if (byLog[g] == null) byLog[g] = new IntArray();
+                byLog[g].add(i);
+            }
+            floats = at;
+            groups = new int[byLog.length][];
+            for (int g=0;g<byLog.length;g++) groups[g] = byLog[g] == null ? new int[0] : byLog[g].toArray();
+        }
+
+        private static long floats(Source source, double days){
+            long sum = 0;
+            for (int i=0;i<source.count();i++) sum += (long)segmentsFor(source.period(i), days) * 3 * COEFFS;
+            return sum;
+        }
+
+        private static int segmentsFor(double period, double days){
+            period = Math.abs(period);
+            if (!(period > 0.0) || Double.isInfinite(period)) return 1;
+            double need = days * SEGMENTS_PER_PERIOD / period;
+            if (need > MAX_SEGMENTS) return 0;
+            int s = 1;
+            while (s < need) s <<= 1;
+            return s;
+        }
+    }
+
+    /** One fitted window; valid to read only while the reading thread holds it ready (see {@link #window}). */
+    public static final class Window {
+        private final AtomicInteger state = new AtomicInteger(FREE);
+        private Layout layout;
+        private long index;
+        private float[] coeffs = new float[0];
+
+        /**
+         * Writes body {@code i}'s fitted position at {@code days}, times {@code scale}, to {@code x/y/z[i]};
+         * false if the body isn't cached (it moves too fast for this window length).
+         */
+        public boolean evaluate(int i, double days, float scale, float[] x, float[] y, float[] z){
+            int s = layout.segments[i];
+            if (s == 0) return false;
+            double u = (days / layout.windowDays - index) * s;
+            int seg = Math.min(Math.max((int)u, 0), s - 1);
+            float t = (float)(2.0 * (u - seg) - 1.0), t2 = 2f * t;
+            int k = layout.offset[i] + seg * 3 * COEFFS;
+            x[i] = scale * clenshaw(coeffs, k, t, t2);
+            y[i] = scale * clenshaw(coeffs, k + COEFFS, t, t2);
+            z[i] = scale * clenshaw(coeffs, k + 2 * COEFFS, t, t2);
+            return true;
+        }
+
+        private static float clenshaw(float[] c, int k, float t, float t2){
+            float b1 = 0f, b2 = 0f;
+            for (int j=COEFFS-1;j>0;j--){ float b0 = t2 * b1 - b2 + c[k + j]; b2 = b1; b1 = b0; }
+            return t * b1 - b2 + c[k];
+        }
+    }
+
+    private final Window[] slots = new Window[SLOTS];
+    private volatile Request request;
+    private volatile Layout layout;           // written by the worker only
+    private volatile double playDays;
+    private volatile int direction = 1;
+    private volatile boolean running = true;
+    private Layout releasedFor;               // reading thread: layout of the last release pass
+    private long lastPlayhead;
+    private double lastDays = Double.NaN, preferredDays = MIN_WINDOW_DAYS;
+    private Source source;
+    private long hits, misses;
+    private final Thread worker;
+
+    public EphemerisCache(){
+        for (int i=0;i<SLOTS;i++) slots[i] = new Window();
+        worker = new Thread(this::work, "vibe-ephemeris");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.NORM_PRIORITY - 1);
+        worker.start();
+    }
+
+    /** Drops every window and fits {@code source} from now on (a new system). */
+    public void reset(Source source){
+        this.source = source;
+        relayout();
+    }
+
+    /** Picks the window length for {@code daysPerSecond} of playback; windows are refitted only when it changes. */
+    public void setPlaybackRate(double daysPerSecond){
+        double days = MIN_WINDOW_DAYS;
+        while (days < MAX_WINDOW_DAYS && days < Math.abs(daysPerSecond) * WINDOW_SECONDS) days *= 2.0;
+        if (days == preferredDays) return;
+        preferredDays = days;
+        relayout();
+    }
+
+    private void relayout(){
+        request = source == null ? null : new Request(source, preferredDays);
+        LockSupport.unpark(worker);
+    }
+
+    /** Window length in use (days), after shrinking to the coefficient budget; 0 until the worker has laid it out. */
+    public double windowDays(){ Layout l = layout; return l == null ? 0.0 : l.windowDays; }
+
+    /**
+     * The fitted window covering {@code days}, or null if it isn't ready (yet). Also moves the prefetch playhead.
+     * Reading thread only; the window stays valid until the next call.
+     */
+    public Window window(double days){
+        Request r = request;
+        if (r == null) return null;
+        if (days != lastDays && !Double.isNaN(lastDays)) direction = days > lastDays ? 1 : -1;
+        lastDays = days;
+        playDays = days;
+        Layout l = layout;
+        if (l == null || l.request != r){ misses++; return null; }   // the worker is still laying it out
+        long w = (long)Math.floor(days / l.windowDays);
+        if (w != lastPlayhead || l != releasedFor){
+            lastPlayhead = w;
+            releaseUnwanted(l, w);
+            LockSupport.unpark(worker);
+        }
+        for (Window s : slots){
+            if (s.state.get() == READY && s.layout == l && s.index == w){ hits++; return s; }
+        }
+        misses++;
+        return null;
+    }
+
+    /** Lookups served from a fitted window / left to the caller, since construction. */
+    public long hits(){ return hits; }
+    public long misses(){ return misses; }
+
+    private void releaseUnwanted(Layout l, long w){
+        releasedFor = l;
+        int dir = direction;
+        for (Window s : slots){
+            if (s.state.get() != READY) continue;
+            long ahead = (s.index - w) * dir;
+            if (s.layout != l || ahead < 0 || ahead > AHEAD) s.state.set(FREE);
+        }
+    }
+
+    // ----- Worker -----
+    private void work(){
+        float[] sx = new float[0], sy = new float[0], sz = new float[0];
+        while (running){
+            Request r = request;
+            Layout l = layout;
+            if (r != null && (l == null || l.request != r)){
+                layout = new Layout(r);   // the only place the source is asked for counts and periods
+                continue;
+            }
+            if (r == null) l = null;
+            long w = l == null ? 0L : (long)Math.floor(playDays / l.windowDays);
+            int dir = direction;
+            long next = Long.MIN_VALUE;
+            if (l != null) for (int a=0;a<=AHEAD && next==Long.MIN_VALUE;a++){
+                if (!present(l, w + (long)a * dir)) next = w + (long)a * dir;
+            }
+            Window slot = next == Long.MIN_VALUE ? null : claim();
+            if (slot == null){ LockSupport.park(this); continue; }
+            int n = l.source.count();
+            if (sx.length < n){ sx = new float[n * COEFFS]; sy = new float[n * COEFFS]; sz = new float[n * COEFFS]; }
+            fill(slot, l, next, sx, sy, sz);
+            slot.state.set(READY);
+        }
+    }
+
+    private boolean present(Layout l, long index){
+        for (Window s : slots) if (s.state.get() != FREE && s.layout == l && s.index == index) return true;
+        return false;
+    }
+
+    private Window claim(){
+        for (Window s : slots) if (s.state.compareAndSet(FREE, FILLING)) return s;
+        return null;
+    }
+
+    /** Samples every cached body at its segments' Chebyshev nodes and turns the samples into coefficients. */
+    private static void fill(Window slot, Layout l, long index, float[] sx, float[] sy, float[] sz){
+        slot.layout = l; slot.index = index;
+        if (slot.coeffs.length < l.floats) slot.coeffs = new float[l.floats];
+        float[] c = slot.coeffs;
+        double start = index * l.windowDays;
+        for (int g=0;g<l.groups.length;g++){
+            int[] bodies = l.groups[g];
+            int n = bodies.length, segments = 1 << g;
+            if (n == 0) continue;
+            double half = l.windowDays / segments * 0.5;
+            for (int seg=0;seg<segments;seg++){
+                double mid = start + (2 * seg + 1) * half;
+                for (int k=0;k<COEFFS;k++){
+                    // node-major samples: body b's value at node k sits at k*n + b
+                    l.source.sample(mid + half * NODES[k], bodies, n, sx, sy, sz, k * n);
+                }
+                for (int b=0;b<n;b++){
+                    int at = l.offset[bodies[b]] + seg * 3 * COEFFS;
+                    fit(sx, b, n, c, at); fit(sy, b, n, c, at + COEFFS); fit(sz, b, n, c, at + 2 * COEFFS);
+                }
+            }
+        }
+    }
+
+    private static void fit(float[] samples, int b, int n, float[] c, int at){
+        for (int j=0;j<COEFFS;j++){
+            float sum = 0f;
+            for (int k=0;k<COEFFS;k++) sum += FIT[j*COEFFS + k] * samples[k * n + b];
+            c[at + j] = sum;
+        }
+    }
+
+    @Override public void dispose(){
+        running = false;
+        LockSupport.unpark(worker);
+    }
+}
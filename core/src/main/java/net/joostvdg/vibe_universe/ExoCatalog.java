@@ -0,0 +1,109 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Menu catalog of exo systems. Only the header fields ({@code name}, {@code description}) are read, with a
+ * streaming scan that stops as soon as both are seen, and the results are kept in an index file keyed by
+ * path and validated by size and mtime. A warm start touches no model file at all; the full body list is
+ * parsed only when a system is actually loaded.
+ */
+public final class ExoCatalog {
+    public static final class Entry {
+        public final String path, name, description;
+        Entry(String path, String name, String description){ this.path=path; this.name=name; this.description=description; }
+    }
+
+    private static final String INDEX_HEADER = "vibe-exo-index 1";
+
+    private ExoCatalog(){}
+
+    /** Lists {@code dir/*.json} once and returns their headers, re-reading only files missing from or stale in {@code index}. */
+    public static Array<Entry> scan(FileHandle dir, FileHandle index){
+        FileHandle[] files = dir.list(".json");
+        ObjectMap<String, String[]> cached = readIndex(index);
+        Array<Entry> entries = new Array<>(files.length);
+        StringBuilder out = new StringBuilder(INDEX_HEADER).append('\n');
+        int reread = 0;
+        for (FileHandle f : files){
+            String size = Long.toString(f.length()), mtime = Long.toString(f.lastModified());
+            String[] row = cached.get(f.path());
+            if (row == null || !row[1].equals(size) || !row[2].equals(mtime)){
+                try {
+                    String[] h = readHeader(f);
+                    row = new String[]{ f.path(), size, mtime, h[0] != null ? h[0] : f.nameWithoutExtension(), h[1] != null ? h[1] : "" };
+                    reread++;
+                } catch (Exception ex){
+                    Gdx.app.error("Vibe", "Failed parsing " + f.path(), ex);
+                    continue;
+                }
+            }
+            entries.add(new Entry(row[0], row[3], row[4]));
+            for (int i=0;i<row.length;i++) out.append(i==0 ? "" : "\t").append(escape(row[i]));
+            out.append('\n');
+        }
+        if (reread > 0 || cached.size != entries.size){
+            try { index.writeString(out.toString(), false, "UTF-8"); }
+            catch (Exception ex){ Gdx.app.error("Vibe", "Could not write exo index " + index.path(), ex); }
+        }
+        Gdx.app.debug("Vibe", "Exo catalog: " + entries.size + " systems, " + reread + " headers read");
+        return entries;
+    }
+
+    // ----- Index file -----
+    private static ObjectMap<String, String[]> readIndex(FileHandle index){
+        ObjectMap<String, String[]> rows = new ObjectMap<>();
+        if (!index.exists()) return rows;
+        try {
+            String[] lines = index.readString("UTF-8").split("\n");
+            if (lines.length == 0 || !INDEX_HEADER.equals(lines[0])) return rows;
+            for (int i=1;i<lines.length;i++){
+                String[] row = lines[i].split("\t", -1);
+                if (row.length != 5) continue;
+                for (int k=0;k<row.length;k++) row[k] = unescape(row[k]);
+                rows.put(row[0], row);
+            }
+        } catch (Exception ex){
+            Gdx.app.error("Vibe", "Ignoring unreadable exo index " + index.path(), ex);
+            rows.clear();
+        }
+        return rows;
+    }
+    private static String escape(String s){
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+    private static String unescape(String s){
+        if (s.indexOf('\\') < 0) return s;
+        StringBuilder b = new StringBuilder(s.length());
+        for (int i=0;i<s.length();i++){
+            char c = s.charAt(i);
+            if (c != '\\' || i+1 == s.length()){ b.append(c); continue; }
+            char n = s.charAt(++i);
+            b.append(n=='t' ? '\t' : n=='n' ? '\n' : n=='r' ? '\r' : n);
+        }
+        return b.toString();
+    }
+
+    // ----- Streaming header read -----
+    /** {name, description} of a model file (either may be null), reading only as far as the two fields. */
+    static String[] readHeader(FileHandle f) throws IOException {
+        String name = null, description = null;
+        try (Reader r = f.reader(1024, "UTF-8")){
+            JsonPullReader in = new JsonPullReader(r);
+            in.beginObject();
+            String key;
+            while ((name == null || description == null) && (key = in.nextKey()) != null){
+                if ("name".equals(key)) name = in.readValue().asString();
+                else if ("description".equals(key)) description = in.readValue().asString();
+                else in.skipValue();
+            }
+        }
+        return new String[]{ name, description };
+    }
+}
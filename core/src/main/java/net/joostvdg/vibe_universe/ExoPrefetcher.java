@@ -0,0 +1,136 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prepares exo systems in the background while the menu is open: each wanted entry is parsed into an in-memory
+ * {@link SystemBinary} and, when textures are rasterized on the CPU, its body pixmaps are generated too. At most
+ * {@link #MAX_ENTRIES} entries are kept; anything no longer wanted is dropped (and its pixmaps freed) as soon as
+ * its job finishes. Methods other than the background work itself are render-thread only.
+ */
+public class ExoPrefetcher implements Disposable {
+    public static final int MAX_ENTRIES = 3;
+
+    /** A prepared system; the taker owns the pixmaps. */
+    public static final class Prefetched {
+        public final SystemBinary system;
+        public final ObjectMap<TextureSpec, Pixmap> pixmaps;
+        Prefetched(SystemBinary system, ObjectMap<TextureSpec, Pixmap> pixmaps){ this.system=system; this.pixmaps=pixmaps; }
+        void dispose(){ for (Pixmap pm : pixmaps.values()) pm.dispose(); pixmaps.clear(); }
+    }
+
+    private final class Job implements Runnable {
+        final String path;
+        private Prefetched result;
+        private boolean started, abandoned, done;
+        Job(String path){ this.path=path; }
+
+        @Override public void run(){
+            Prefetched r = null;
+            synchronized (this){ started = true; }
+            try { if (!isAbandoned()) r = prepare(this); }
+            catch (Throwable t){ Gdx.app.error("Vibe", "Prefetch failed for " + path, t); }
+            synchronized (this){
+                if (abandoned && r != null) r.dispose();
+                else result = r;
+                done = true;
+                notifyAll();
+            }
+        }
+        synchronized boolean isAbandoned(){ return abandoned; }
+        synchronized void abandon(){
+            abandoned = true;
+            if (result != null){ result.dispose(); result = null; }
+        }
+        /** Waits for a started job and takes its result; null if it failed or is still queued (loading directly is quicker then). */
+        synchronized Prefetched take() throws InterruptedException {
+            if (!started){ abandoned = true; return null; }
+            while (!done) wait();
+            Prefetched r = result; result = null;
+            return r;
+        }
+    }
+
+    private final ExecutorService worker;
+    private final TexturePipeline textures;   // null: no pixmaps (shader surfaces)
+    private final TextureSpec moonTexture;
+    private final LinkedHashMap<String, Job> jobs = new LinkedHashMap<>();
+
+    /** {@code textures} null means systems are parsed only; {@code moonTexture} is the spec every moon uses. */
+    public ExoPrefetcher(TexturePipeline textures, TextureSpec moonTexture){
+        this.textures = textures; this.moonTexture = moonTexture;
+        worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "vibe-prefetch");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /** Makes {@code paths} (most important first, at most {@link #MAX_ENTRIES}) the prefetched set. */
+    public void prefetch(String... paths){
+        ObjectSet<String> wanted = new ObjectSet<>();
+        for (int i=0;i<paths.length && wanted.size<MAX_ENTRIES;i++) if (paths[i] != null) wanted.add(paths[i]);
+        for (Iterator<Map.Entry<String, Job>> it = jobs.entrySet().iterator(); it.hasNext();){
+            Map.Entry<String, Job> e = it.next();
+            if (!wanted.contains(e.getKey())){ e.getValue().abandon(); it.remove(); }
+        }
+        for (String p : paths){
+            if (p == null || !wanted.contains(p) || jobs.containsKey(p)) continue;
+            Job j = new Job(p);
+            jobs.put(p, j);
+            worker.execute(j);
+        }
+    }
+
+    /** The prepared system for {@code path}, waiting for it if it is in progress; null if it isn't available. */
+    public Prefetched take(String path){
+        Job j = jobs.remove(path);
+        if (j == null) return null;
+        try { return j.take(); }
+        catch (InterruptedException ex){ Thread.currentThread().interrupt(); j.abandon(); return null; }
+    }
+
+    // ----- Background -----
+    private Prefetched prepare(Job job) throws Exception {
+        SystemBinary system = SystemBinary.load(Gdx.files.internal(job.path));
+        ObjectMap<TextureSpec, Pixmap> pixmaps = new ObjectMap<>();
+        if (textures == null) return new Prefetched(system, pixmaps);
+        ObjectSet<TextureSpec> specs = new ObjectSet<>();
+        system.replay(new SystemSink(){
+            @Override public void header(String name, String description, float distanceScale, float planetSizeScale, float moonExaggeratedScale,
+                                         float moonRealisticScale, boolean truePlanetProportions, boolean trueMoonProportionsInRealistic,
+                                         Color starColor, Color starEmissive, float starRadius){}
+            @Override public void planet(String name, int index, float aAU, float e, float periodDays, float radiusKm, float inclinationDeg,
+                                         float spinTiltDeg, float rotationDays, Color color, TextureSpec texture, RingSpec rings){ if (texture != null) specs.add(texture); }
+            @Override public void moon(int planet, String name, float aAU, float e, float periodDays, int radiusKm, float inclinationDeg){
+                if (moonTexture != null) specs.add(moonTexture);
+            }
+            @Override public void belt(String name, int count, long seed, float aMin, float aMax, float eMin, float eMax,
+                                       float incMin, float incMax, float size, float starMass, Color color){}
+        });
+        Prefetched out = new Prefetched(system, pixmaps);
+        for (TextureSpec spec : specs){
+            if (job.isAbandoned()){ out.dispose(); return null; }
+            pixmaps.put(spec, textures.produce(spec));
+        }
+        return out;
+    }
+
+    @Override public void dispose(){
+        for (Job j : jobs.values()) j.abandon();
+        jobs.clear();
+        worker.shutdownNow();
+    }
+}
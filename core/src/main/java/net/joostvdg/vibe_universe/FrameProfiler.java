@@ -0,0 +1,279 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Per-phase frame timings for the SIM view. {@link #beginFrame()} opens a frame, {@link #phase} closes the running
+ * phase and opens the next, {@link #endFrame()} closes the last one and commits the frame. CPU times are
+ * {@code System.nanoTime} laps; GPU times come from {@code GL_TIME_ELAPSED} queries when the context has them
+ * (desktop GL 3.3 / ARB_timer_query), and are read back a few frames later so the CPU never waits on the GPU.
+ * A frame is committed to the rolling window (and the CSV, if recording) once its GPU results are in.
+ *
+ * The overlay shows p50/p95/p99 per phase over the last {@link #WINDOW} frames and is re-laid out twice a second.
+ * Nothing here allocates per frame; GPU queries are only issued while the overlay is shown or a CSV is recorded.
+ * Without a font (and without GL30, as in the allocation check) it keeps the CPU bookkeeping only.
+ */
+public class FrameProfiler implements Disposable {
+    public enum Phase {
+        UPLOAD("texture upload"), PROPAGATION("propagation"), MODELS("model submit"), BELTS("belts"), ORBITS("orbit lines"),
+        AXES("axes"), HALO("sun halo"), HUD("hud"), TOP_BAR("top bar");
+        final String label;
+        Phase(String label){ this.label=label; }
+    }
+    static final Phase[] PHASES = Phase.values();
+    static final int WINDOW = 600;                 // ~10 s at 60 fps
+    private static final int FRAME = PHASES.length; // extra row: whole frame
+    private static final int SLOTS = 4;            // frames a GPU query set may stay in flight
+    private static final int GL_TIME_ELAPSED = 0x88BF;
+    private static final float OVERLAY_REFRESH_SECONDS = 0.5f;
+
+    // ----- Rolling window (ms), rows: phases + whole frame -----
+    private final float[][] cpuMs = new float[PHASES.length+1][WINDOW];
+    private final float[][] gpuMs = new float[PHASES.length+1][WINDOW];
+    private final float[] sorted = new float[WINDOW];
+    private int head, samples;
+    private long frameNumber;
+
+    // ----- Frames in flight -----
+    private final long[][] slotCpuNanos = new long[SLOTS][PHASES.length+1];
+    private final long[] slotFrame = new long[SLOTS];
+    private final boolean[] slotPending = new boolean[SLOTS];
+    private final int[] slotQueried = new int[SLOTS];   // bit per phase whose GPU query was issued
+    private final int[] slotLastQuery = new int[SLOTS]; // phase ordinal issued last (its result arrives last)
+    private int writeSlot, readSlot;
+    private boolean inFrame;
+    private Phase current;
+    private long frameStart, phaseStart;
+
+    // ----- GPU timer queries, one per phase per slot -----
+    private final boolean gpuSupported;
+    private IntBuffer queries;
+    private final IntBuffer queryResult = BufferUtils.newIntBuffer(1);
+    private boolean gpuThisFrame;
+
+    // ----- Output -----
+    private boolean overlayVisible;
+    private Writer csv;
+    private FileHandle csvFile;
+    private final StringBuilder text = new StringBuilder(1024);
+    private char[] chars = new char[256];
+    private final BitmapFontCache overlay;
+    private float sinceOverlay = Float.MAX_VALUE;
+
+    /** @param font overlay font, or {@code null} for no overlay */
+    public FrameProfiler(BitmapFont font){
+        overlay = font != null ? new BitmapFontCache(font, font.usesIntegerPositions()) : null;
+        if (overlay != null) overlay.setColor(Color.WHITE);
+        gpuSupported = detectTimerQueries();
+        if (gpuSupported){
+            queries = BufferUtils.newIntBuffer(SLOTS*PHASES.length);
+            Gdx.gl30.glGenQueries(SLOTS*PHASES.length, queries);
+        }
+    }
+
+    private static boolean detectTimerQueries(){
+        if (Gdx.gl30 == null) return false;
+        if (!Boolean.parseBoolean(System.getProperty("vibe.gpuTimers", "true"))) return false;
+        return Gdx.graphics.getGLVersion().isVersionEqualToOrHigher(3, 3)
+                || Gdx.graphics.supportsExtension("GL_ARB_timer_query");
+    }
+
+    public boolean gpuTimersSupported(){ return gpuSupported; }
+    public boolean isOverlayVisible(){ return overlayVisible; }
+    public void toggleOverlay(){ overlayVisible = !overlayVisible; sinceOverlay = Float.MAX_VALUE; }
+    public boolean isRecording(){ return csv != null; }
+
+    // ----- Frame -----
+    public void beginFrame(){
+        if (inFrame) abandonFrame();  // last frame never reached endFrame (menu states)
+        if (slotPending[writeSlot]) resolve(writeSlot, true);
+        gpuThisFrame = gpuSupported && (overlayVisible || csv != null);
+        Arrays.fill(slotCpuNanos[writeSlot], 0L);
+        slotQueried[writeSlot] = 0;
+        inFrame = true; current = null;
+        frameStart = System.nanoTime();
+    }
+
+    /** Ends the running phase (if any) and starts {@code next}. */
+    public void phase(Phase next){
+        if (!inFrame) return;
+        closePhase(System.nanoTime());
+        current = next; phaseStart = System.nanoTime();
+        if (gpuThisFrame){
+            Gdx.gl30.glBeginQuery(GL_TIME_ELAPSED, queries.get(writeSlot*PHASES.length + next.ordinal()));
+            slotQueried[writeSlot] |= 1 << next.ordinal();
+            slotLastQuery[writeSlot] = next.ordinal();
+        }
+    }
+
+    public void endFrame(){
+        if (!inFrame) return;
+        long now = System.nanoTime();
+        closePhase(now);
+        slotCpuNanos[writeSlot][FRAME] = now - frameStart;
+        slotFrame[writeSlot] = frameNumber++;
+        slotPending[writeSlot] = true;
+        inFrame = false;
+        writeSlot = (writeSlot+1) % SLOTS;
+        // commit every finished frame, oldest first
+        while (slotPending[readSlot] && resolve(readSlot, false)) {}
+    }
+
+    private void closePhase(long now){
+        if (current == null) return;
+        slotCpuNanos[writeSlot][current.ordinal()] += now - phaseStart;
+        if (gpuThisFrame) Gdx.gl30.glEndQuery(GL_TIME_ELAPSED);
+        current = null;
+    }
+
+    private void abandonFrame(){
+        if (current != null && gpuThisFrame) Gdx.gl30.glEndQuery(GL_TIME_ELAPSED);
+        // the slot is not pending, so its queries are never read; beginFrame reuses it
+        current = null; inFrame = false;
+    }
+
+    /** Commits slot {@code s} (always the oldest pending) if its GPU results are in, or waiting for them if {@code block}. */
+    private boolean resolve(int s, boolean block){
+        int queried = slotQueried[s], base = s*PHASES.length;
+        if (queried != 0 && !block){
+            queryResult.clear();
+            Gdx.gl30.glGetQueryObjectuiv(queries.get(base + slotLastQuery[s]), GL30.GL_QUERY_RESULT_AVAILABLE, queryResult);
+            if (queryResult.get(0) == 0) return false;
+        }
+        float total = 0f;
+        for (int p=0;p<PHASES.length;p++){
+            float ms = Float.NaN;
+            if ((queried & (1 << p)) != 0){
+                queryResult.clear();
+                Gdx.gl30.glGetQueryObjectuiv(queries.get(base + p), GL30.GL_QUERY_RESULT, queryResult);
+                ms = (queryResult.get(0) & 0xFFFFFFFFL) / 1e6f;
+                total += ms;
+            }
+            gpuMs[p][head] = ms;
+        }
+        gpuMs[FRAME][head] = queried != 0 ? total : Float.NaN;
+        long[] cpu = slotCpuNanos[s];
+        for (int r=0;r<=PHASES.length;r++) cpuMs[r][head] = cpu[r] / 1e6f;
+        if (csv != null) writeCsvRow(slotFrame[s]);
+        head = (head+1) % WINDOW;
+        if (samples < WINDOW) samples++;
+        slotPending[s] = false;
+        readSlot = (s+1) % SLOTS;
+        return true;
+    }
+
+    // ----- Percentiles -----
+    /** p-th percentile (0..1) of phase row {@code row} in ms; NaN if there are no samples. */
+    float percentile(float[][] rows, int row, float p){
+        int n = 0;
+        for (int i=0;i<samples;i++){ float v = rows[row][i]; if (!Float.isNaN(v)) sorted[n++] = v; }
+        if (n == 0) return Float.NaN;
+        Arrays.sort(sorted, 0, n);
+        return sorted[Math.max(0, (int)Math.ceil(p*n) - 1)];
+    }
+
+    // ----- Overlay -----
+    /** Draws the overlay in the bottom-left corner when visible; {@code batch} must be active. */
+    public void draw(Batch batch, float dt){
+        if (!overlayVisible || overlay == null) return;
+        sinceOverlay += dt;
+        if (sinceOverlay >= OVERLAY_REFRESH_SECONDS){ layoutOverlay(); sinceOverlay = 0f; }
+        overlay.draw(batch);
+    }
+
+    private void layoutOverlay(){
+        text.setLength(0);
+        text.append("Frame profile (").append(samples).append(" frames)  ms p50 / p95 / p99");
+        if (gpuSupported) text.append("   GPU p50 / p95 / p99");
+        if (csv != null) text.append("   [REC]");
+        text.append('\n');
+        for (int r=0;r<=PHASES.length;r++){
+            text.append(r == FRAME ? "frame" : PHASES[r].label).append(": ");
+            appendPercentiles(cpuMs, r);
+            if (gpuSupported){ text.append("   "); appendPercentiles(gpuMs, r); }
+            text.append('\n');
+        }
+        int lines = PHASES.length + 2;
+        float lineH = overlay.getFont().getLineHeight();
+        overlay.setText(text, 12f, 12f + lines*lineH);
+    }
+
+    private void appendPercentiles(float[][] rows, int r){
+        appendMs(percentile(rows, r, 0.50f)); text.append(" / ");
+        appendMs(percentile(rows, r, 0.95f)); text.append(" / ");
+        appendMs(percentile(rows, r, 0.99f));
+    }
+    private void appendMs(float ms){
+        if (Float.isNaN(ms)) text.append('-'); else HudText.appendFixed(text, ms, 2);
+    }
+
+    // ----- CSV -----
+    /** Starts writing one row per committed frame to {@code file}, or stops (and closes it) if already recording. */
+    public void toggleRecording(FileHandle file){
+        if (csv != null){ stopRecording(); return; }
+        try {
+            csv = file.writer(false, "UTF-8");
+            csvFile = file;
+            text.setLength(0);
+            text.append("frame");
+            for (Phase p : PHASES) text.append(",cpu_").append(p.name().toLowerCase()).append("_ms");
+            text.append(",cpu_frame_ms");
+            for (Phase p : PHASES) text.append(",gpu_").append(p.name().toLowerCase()).append("_ms");
+            text.append(",gpu_frame_ms\n");
+            flushText();
+            Gdx.app.log("Vibe", "Recording frame timings to " + file.path());
+        } catch (Exception ex){
+            Gdx.app.error("Vibe", "Could not record frame timings to " + file.path(), ex);
+            csv = null;
+        }
+        sinceOverlay = Float.MAX_VALUE;
+    }
+
+    private void stopRecording(){
+        try { csv.close(); Gdx.app.log("Vibe", "Frame timings written to " + csvFile.path()); }
+        catch (IOException ex){ Gdx.app.error("Vibe", "Could not close " + csvFile.path(), ex); }
+        csv = null; csvFile = null;
+        sinceOverlay = Float.MAX_VALUE;
+    }
+
+    private void writeCsvRow(long frame){
+        text.setLength(0);
+        text.append(frame);
+        for (int r=0;r<=PHASES.length;r++){ text.append(','); HudText.appendFixed(text, cpuMs[r][head], 4); }
+        for (int r=0;r<=PHASES.length;r++){
+            text.append(',');
+            if (!Float.isNaN(gpuMs[r][head])) HudText.appendFixed(text, gpuMs[r][head], 4);
+        }
+        text.append('\n');
+        flushText();
+    }
+
+    private void flushText(){
+        if (chars.length < text.length()) chars = new char[text.length()*2];
+        text.getChars(0, text.length(), chars, 0);
+        try { csv.write(chars, 0, text.length()); }
+        catch (IOException ex){ Gdx.app.error("Vibe", "Frame timing CSV failed", ex); stopRecording(); }
+    }
+
+    @Override public void dispose(){
+        if (csv != null) stopRecording();
+        if (gpuSupported){
+            if (inFrame) abandonFrame();
+            queries.clear();
+            Gdx.gl30.glDeleteQueries(SLOTS*PHASES.length, queries);
+        }
+    }
+}
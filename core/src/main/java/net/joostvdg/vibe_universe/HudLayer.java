@@ -0,0 +1,75 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Retained SIM overlay (data feed, status line, key help). Text is laid out into {@link BitmapFontCache}s, so a
+ * frame only submits cached glyph vertices. The static block (title, one line per planet, help) is re-laid out
+ * only when the feed, the font scale or the viewport changes; the status line only when its {@link HudStatus}
+ * text was rebuilt (or the block above it moved).
+ */
+final class HudLayer {
+    private static final String TITLE = "Vibe Universe — Data Feed";
+    private static final String[] HELP = {
+            "Controls:  Right-drag=orbit  Middle-drag=pan  Wheel=zoom  Shift+R=reset  1-8=focus",
+            "Toggle:    Space=pause  O=orbits  X=axes  C=distance-compress  L=extended-light  M=moon-mode, V=spin mode (Smooth/Realistic)",
+            "Moon mode: EXAGGERATED → REALISTIC → HIDDEN",
+            "Profiler:  F3=frame-time overlay  F4=record frame timings to CSV" };
+    private static final float MARGIN = 12f;
+
+    private final BitmapFont font;
+    private final BitmapFontCache staticText, statusText;
+    private final Array<String> feed = new Array<>();
+    private boolean staticDirty = true;
+    private float laidOutTop = Float.NaN, laidOutScale = Float.NaN;
+    private float statusY;
+    private int laidOutStatus = -1;   // HudStatus version in statusText; -1 forces a layout
+
+    HudLayer(BitmapFont font){
+        this.font = font;
+        staticText = new BitmapFontCache(font, font.usesIntegerPositions());
+        statusText = new BitmapFontCache(font, font.usesIntegerPositions());
+        staticText.setColor(Color.WHITE);
+        statusText.setColor(Color.WHITE);
+    }
+
+    // ----- Inputs -----
+    void clearFeed(){ feed.clear(); staticDirty = true; }
+    /** Adds a data-feed line; formatted once here, never per frame. */
+    void addPlanet(int index, String name, float periodDays){
+        feed.add("#" + index + "  " + name + " — " + String.format("%.3f d", periodDays));
+        staticDirty = true;
+    }
+    /** Call on resize or font-scale changes. */
+    void invalidate(){ staticDirty = true; }
+
+    // ----- Frame -----
+    /** Re-lays out whatever is stale and draws; {@code batch} must be active. */
+    void draw(Batch batch, float viewportTop, HudStatus status){
+        float scale = font.getData().scaleY;
+        if (staticDirty || viewportTop != laidOutTop || scale != laidOutScale) layoutStatic(viewportTop, scale);
+        if (status.version() != laidOutStatus){
+            statusText.setText(status.text(), MARGIN, statusY);
+            laidOutStatus = status.version();
+        }
+        staticText.draw(batch);
+        statusText.draw(batch);
+    }
+
+    private void layoutStatic(float top, float scale){
+        staticText.clear();
+        float y = top - MARGIN;
+        staticText.addText(TITLE, MARGIN, y); y -= 18f;
+        for (int i=0;i<feed.size;i++){ staticText.addText(feed.get(i), MARGIN, y); y -= 16f; }
+        y -= 6f;
+        statusY = y;
+        y -= 20f;
+        for (String line : HELP){ staticText.addText(line, MARGIN, y); y -= 16f; }
+        laidOutTop = top; laidOutScale = scale; staticDirty = false;
+        laidOutStatus = -1; // the status line moves with the feed
+    }
+}
@@ -0,0 +1,32 @@
+package net.joostvdg.vibe_universe;
+
+/**
+ * The SIM status line's text, GL-free: rebuilt immediately when one of its discrete inputs changes, and otherwise at
+ * most every {@link #REFRESH_SECONDS} for the running numbers (sim time, FPS). {@link HudLayer} lays it out again
+ * whenever {@link #version()} moves.
+ */
+final class HudStatus {
+    static final float REFRESH_SECONDS = 0.25f;
+
+    private final StringBuilder text = new StringBuilder(160);
+    private int version;
+
+    // inputs as last built; since counts up to the next throttled refresh
+    private float since = Float.MAX_VALUE, shownTimeScale;
+    private boolean shownPaused, shownCompress, shownAxes;
+
+    /** Rebuilds the text if it is stale. */
+    void update(float dt, double simTimeDays, float timeScale, boolean paused, int fps, boolean compress, boolean axes){
+        since += dt;
+        if (since < REFRESH_SECONDS && timeScale == shownTimeScale && paused == shownPaused
+                && compress == shownCompress && axes == shownAxes) return;
+        HudText.status(text, simTimeDays, timeScale, paused, fps, compress, axes);
+        shownTimeScale = timeScale; shownPaused = paused; shownCompress = compress; shownAxes = axes;
+        since = 0f;
+        version++;
+    }
+
+    CharSequence text(){ return text; }
+    /** Bumped every time the text is rebuilt. */
+    int version(){ return version; }
+}
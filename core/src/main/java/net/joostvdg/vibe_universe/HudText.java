@@ -0,0 +1,36 @@
+package net.joostvdg.vibe_universe;
+
+/**
+ * Allocation-free text building for the per-frame HUD: everything appends into a caller-owned
+ * {@link StringBuilder} (reset and reused) instead of {@code String.format} or concatenation, and
+ * {@link HudLayer} lays the builder out as a {@link CharSequence}.
+ */
+final class HudText {
+    private static final long[] POW10 = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L };
+
+    private HudText(){}
+
+    /** Appends {@code v} with {@code decimals} (0..6) fixed decimals, rounded half away from zero like {@code %.Nf}. */
+    static StringBuilder appendFixed(StringBuilder sb, double v, int decimals){
+        if (Double.isNaN(v) || Double.isInfinite(v) || Math.abs(v) >= 1e12) return sb.append(v); // not on the frame path
+        long scale = POW10[decimals];
+        long n = Math.round(Math.abs(v) * scale);
+        if (v < 0 && n != 0) sb.append('-');
+        sb.append(n / scale);
+        if (decimals == 0) return sb;
+        sb.append('.');
+        long frac = n % scale;
+        for (long p = scale/10; p > frac && p > 1; p /= 10) sb.append('0');
+        return sb.append(frac);
+    }
+
+    /** The SIM status line: {@code Sim time: %.1f d | Scale: %.1f d/s [RUN] | FPS: %d | Compress: OFF | Axes: ON}. */
+    static StringBuilder status(StringBuilder sb, double simTimeDays, float timeScale, boolean paused, int fps,
+                                boolean compress, boolean axes){
+        sb.setLength(0);
+        appendFixed(sb.append("Sim time: "), simTimeDays, 1).append(" d | Scale: ");
+        appendFixed(sb, timeScale, 1).append(" d/s [").append(paused ? "PAUSED" : "RUN").append("] | FPS: ").append(fps);
+        sb.append(" | Compress: ").append(compress ? "ON" : "OFF").append(" | Axes: ").append(axes ? "ON" : "OFF");
+        return sb;
+    }
+}
@@ -0,0 +1,39 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * The CPU side of {@link ImpostorRenderer}: the point-sprite vertices {@link SimFrame} queues each frame (position,
+ * colour with coverage as alpha, size in pixels). No GL here; the renderer uploads them when it draws.
+ */
+public class ImpostorPoints {
+    static final int FLOATS_PER_VERTEX = 8;    // xyz, rgba, size
+    private static final float MIN_SIZE_PX = 1.5f, MIN_COVERAGE = 0.15f;
+
+    private float[] data = new float[256 * FLOATS_PER_VERTEX];
+    private int count;
+
+    public void begin(){ count = 0; }
+
+    /** Queues a body at {@code position} whose sphere would be {@code radiusPx} pixels in radius on screen. */
+    public void add(Vector3 position, float radiusPx, Color color){
+        if ((count + 1) * FLOATS_PER_VERTEX > data.length){
+            float[] grown = new float[data.length * 2];
+            System.arraycopy(data, 0, grown, 0, count * FLOATS_PER_VERTEX);
+            data = grown;
+        }
+        float size = 2f * radiusPx;
+        int k = count++ * FLOATS_PER_VERTEX;
+        data[k++]=position.x; data[k++]=position.y; data[k++]=position.z;
+        data[k++]=color.r; data[k++]=color.g; data[k++]=color.b;
+        data[k++]=MathUtils.clamp(size * size, MIN_COVERAGE, 1f);
+        data[k]=Math.max(size, MIN_SIZE_PX);
+    }
+
+    public int count(){ return count; }
+    float[] data(){ return data; }
+    /** Points the array holds before it has to grow. */
+    int capacity(){ return data.length / FLOATS_PER_VERTEX; }
+}
@@ -0,0 +1,68 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws bodies below a few pixels on screen as camera-facing point sprites, all of them in one {@code GL_POINTS}
+ * call per frame, instead of lit sphere meshes. Each sprite carries the body's material colour and is lit in the
+ * shader from the star's point light and the phase angle, so a body keeps roughly its brightness when it switches
+ * between sprite and mesh. Sub-pixel bodies fade with their covered area instead of vanishing. The vertices are
+ * queued in {@link ImpostorPoints}.
+ */
+public class ImpostorRenderer implements Disposable {
+    private static final int GL_VERTEX_PROGRAM_POINT_SIZE = 0x8642; // desktop GL only
+
+    private final ShaderProgram shader;
+    private Mesh mesh;
+
+    public ImpostorRenderer(){
+        shader = new ShaderProgram(Gdx.files.internal("shaders/impostor.vert"), Gdx.files.internal("shaders/impostor.frag"));
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Impostor shader failed to compile: " + shader.getLog());
+        ensureCapacity(256);
+    }
+
+    /** Draws the points queued in {@code points} this frame, depth-tested against the meshes already drawn. */
+    public void render(ImpostorPoints points, Camera cam, Color light, float lightIntensity, float ambient){
+        int count = points.count();
+        if (count == 0) return;
+        if (count > mesh.getMaxVertices()) ensureCapacity(points.capacity());
+        mesh.setVertices(points.data(), 0, count * ImpostorPoints.FLOATS_PER_VERTEX);
+        Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
+        Gdx.gl.glDepthMask(true);
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        Gdx.gl.glEnable(GL_VERTEX_PROGRAM_POINT_SIZE);
+        shader.bind();
+        shader.setUniformMatrix("u_projViewTrans", cam.combined);
+        shader.setUniformf("u_cameraPosition", cam.position);
+        shader.setUniformf("u_lightColor", light.r, light.g, light.b);
+        shader.setUniformf("u_lightIntensity", lightIntensity);
+        shader.setUniformf("u_ambient", ambient);
+        mesh.render(shader, GL20.GL_POINTS, 0, count);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        Gdx.gl.glDisable(GL20.GL_DEPTH_TEST);
+    }
+
+    /** Grows the vertex buffer (kept across frames; only systems with more bodies than ever before pay for it). */
+    private void ensureCapacity(int vertices){
+        if (mesh != null) mesh.dispose();
+        mesh = new Mesh(false, vertices, 0,
+                new VertexAttribute(Usage.Position, 3, ShaderProgram.POSITION_ATTRIBUTE),
+                new VertexAttribute(Usage.ColorUnpacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+                new VertexAttribute(Usage.Generic, 1, "a_size"));
+    }
+
+    @Override public void dispose(){
+        mesh.dispose();
+        shader.dispose();
+    }
+}
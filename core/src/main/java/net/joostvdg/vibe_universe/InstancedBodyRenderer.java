@@ -0,0 +1,139 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.DirectionalLightsAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.PointLightsAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
+import com.badlogic.gdx.graphics.g3d.environment.PointLight;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws planets and moons with GL30 instancing: one draw call per {@link SphereLods} level in use, however many
+ * bodies there are. Each instance carries its world transform (upper 3x4) and its surface parameters, packed by
+ * {@link BodyInstances}. The surface colours (speckle pair or up to {@link ProceduralSurfaceShader#MAX_BANDS} bands)
+ * live in one small palette texture, one row per distinct surface (or flat colour), so every body is evaluated by
+ * the same {@code surface.glsl} code as {@link ProceduralSurfaceShader} without a uniform or texture change between
+ * bodies. Lighting follows DefaultShader's per-vertex model for the environment's ambient colour, first point light
+ * and first {@link #MAX_DIR_LIGHTS} directional lights.
+ */
+public class InstancedBodyRenderer implements Disposable {
+    static final int MAX_DIR_LIGHTS = 2;
+
+    private final ShaderProgram shader;
+    private final Mesh[] meshes;
+    private final int[] capacity;
+    private final VertexAttribute[] instanceAttributes = {
+            new VertexAttribute(Usage.Generic, 4, "a_row0"), new VertexAttribute(Usage.Generic, 4, "a_row1"),
+            new VertexAttribute(Usage.Generic, 4, "a_row2"), new VertexAttribute(Usage.Generic, 4, "a_surf"),
+            new VertexAttribute(Usage.Generic, 2, "a_surfGrid") };
+    private final float[] dirColor = new float[MAX_DIR_LIGHTS * 3], dirDirection = new float[MAX_DIR_LIGHTS * 3];
+    private Texture paletteTexture;
+    private int drawCalls;
+
+    public InstancedBodyRenderer(SphereLods lods){
+        if (Gdx.gl30 == null) throw new GdxRuntimeException("Instanced bodies need GL30");
+        String surface = Gdx.files.internal("shaders/surface.glsl").readString("UTF-8");
+        String frag = Gdx.files.internal("shaders/bodies.frag").readString("UTF-8");
+        String anchor = "varying vec3 v_light;";
+        int at = frag.indexOf(anchor);
+        if (at < 0) throw new GdxRuntimeException("bodies.frag changed, anchor not found: " + anchor);
+        frag = frag.substring(0, at) + "#define SURFACE_INSTANCED\n" + surface + "\n" + frag.substring(at);
+        shader = new ShaderProgram(Gdx.files.internal("shaders/bodies.vert").readString("UTF-8"), frag);
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Instanced body shader failed to compile: " + shader.getLog());
+
+        int levels = SphereLods.SEGMENTS.length;
+        meshes = new Mesh[levels]; capacity = new int[levels];
+        for (int i=0;i<levels;i++){
+            meshes[i] = lods.model(i).meshes.first().copy(true);
+            grow(i, 64);
+        }
+    }
+
+    /** Draws everything {@code instances} queued this frame: one call per LOD level that has bodies. */
+    public void render(BodyInstances instances, Camera cam, Environment environment){
+        drawCalls = 0;
+        if (instances.paletteDirty() || paletteTexture == null) uploadPalette(instances);
+        Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
+        Gdx.gl.glDepthFunc(GL20.GL_LEQUAL);
+        Gdx.gl.glDepthMask(true);
+        Gdx.gl.glEnable(GL20.GL_CULL_FACE);
+        Gdx.gl.glCullFace(GL20.GL_BACK);
+        shader.bind();
+        shader.setUniformMatrix("u_projViewTrans", cam.combined);
+        setLights(environment);
+        paletteTexture.bind(0);
+        shader.setUniformi("u_surfPalette", 0);
+        shader.setUniformf("u_paletteRows", paletteTexture.getHeight());
+        for (int i=0;i<meshes.length;i++){
+            int count = instances.count(i);
+            if (count == 0) continue;
+            if (count > capacity[i]) grow(i, instances.capacity(i));
+            meshes[i].setInstanceData(instances.data(i), 0, count * BodyInstances.FLOATS_PER_INSTANCE);
+            meshes[i].render(shader, GL20.GL_TRIANGLES);
+            drawCalls++;
+        }
+        Gdx.gl.glDisable(GL20.GL_CULL_FACE);
+        Gdx.gl.glDisable(GL20.GL_DEPTH_TEST);
+    }
+
+    /** Draw calls issued by the last {@link #render}. */
+    public int drawCalls(){ return drawCalls; }
+
+    private void setLights(Environment environment){
+        ColorAttribute ambient = (ColorAttribute)environment.get(ColorAttribute.AmbientLight);
+        if (ambient != null) shader.setUniformf("u_ambient", ambient.color.r, ambient.color.g, ambient.color.b);
+        else shader.setUniformf("u_ambient", 0f, 0f, 0f);
+
+        PointLightsAttribute points = (PointLightsAttribute)environment.get(PointLightsAttribute.Type);
+        if (points != null && points.lights.size > 0){
+            PointLight p = points.lights.first();
+            shader.setUniformf("u_pointColor", p.color.r * p.intensity, p.color.g * p.intensity, p.color.b * p.intensity);
+            shader.setUniformf("u_pointPosition", p.position);
+        } else shader.setUniformf("u_pointColor", 0f, 0f, 0f);
+
+        DirectionalLightsAttribute dirs = (DirectionalLightsAttribute)environment.get(DirectionalLightsAttribute.Type);
+        for (int i=0;i<MAX_DIR_LIGHTS;i++){
+            DirectionalLight d = dirs != null && i < dirs.lights.size ? dirs.lights.get(i) : null;
+            dirColor[i*3]   = d != null ? d.color.r : 0f; dirColor[i*3+1] = d != null ? d.color.g : 0f; dirColor[i*3+2] = d != null ? d.color.b : 0f;
+            dirDirection[i*3] = d != null ? d.direction.x : 0f; dirDirection[i*3+1] = d != null ? d.direction.y : -1f; dirDirection[i*3+2] = d != null ? d.direction.z : 0f;
+        }
+        shader.setUniform3fv("u_dirColor[0]", dirColor, 0, dirColor.length);
+        shader.setUniform3fv("u_dirDirection[0]", dirDirection, 0, dirDirection.length);
+    }
+
+    private void uploadPalette(BodyInstances instances){
+        Pixmap palette = instances.palette();
+        if (paletteTexture == null || paletteTexture.getHeight() != palette.getHeight()){
+            if (paletteTexture != null) paletteTexture.dispose();
+            paletteTexture = new Texture(palette);
+            paletteTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        } else {
+            paletteTexture.draw(palette, 0, 0);
+        }
+        instances.paletteUploaded();
+    }
+
+    /** (Re)sizes level {@code level}'s instance buffer; only a system with more bodies than ever before pays for it. */
+    private void grow(int level, int instances){
+        capacity[level] = instances;
+        if (meshes[level].isInstanced()) meshes[level].disableInstancedRendering();
+        meshes[level].enableInstancedRendering(false, instances, instanceAttributes);
+    }
+
+    @Override public void dispose(){
+        for (Mesh m : meshes) m.dispose();
+        shader.dispose();
+        if (paletteTexture != null) paletteTexture.dispose();
+    }
+}
@@ -0,0 +1,173 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Minimal pull parser over a {@link Reader}: walk objects key by key and arrays element by element, and either
+ * skip a value or materialize just that value as a {@link JsonValue}. Memory stays bounded by the largest value
+ * actually materialized, not by the document. Accepts the relaxed syntax libGDX's JsonReader does for our
+ * files: comments and unquoted keys.
+ */
+final class JsonPullReader {
+    private final Reader r;
+    private int peeked = -2;
+    private long consumed;
+    private final StringBuilder sb = new StringBuilder(64);
+
+    JsonPullReader(Reader r){ this.r = r; }
+
+    /** Characters consumed so far (for progress reporting). */
+    long position(){ return consumed; }
+
+    // ----- Structure -----
+    void beginObject() throws IOException { expect('{'); }
+    void beginArray() throws IOException { expect('['); }
+
+    /** Next key of the current object, or {@code null} once its closing brace has been consumed. */
+    String nextKey() throws IOException {
+        int c = separator('}');
+        if (c == '}'){ next(); return null; }
+        String key = c == '"' ? string() : bare();
+        if (key.isEmpty()) throw error("key expected");
+        expect(':');
+        return key;
+    }
+
+    /** True if the current array has another element; consumes the closing bracket otherwise. */
+    boolean hasNextElement() throws IOException {
+        int c = separator(']');
+        if (c == ']'){ next(); return false; }
+        return true;
+    }
+
+    // ----- Values -----
+    String readString() throws IOException {
+        if (skipWs() != '"') throw error("string expected");
+        return string();
+    }
+
+    JsonValue readValue() throws IOException {
+        int c = skipWs();
+        if (c == '{'){
+            next();
+            JsonValue obj = new JsonValue(ValueType.object), tail = null;
+            String key;
+            while ((key = nextKey()) != null){ JsonValue v = readValue(); v.name = key; tail = link(obj, tail, v); }
+            return obj;
+        }
+        if (c == '['){
+            next();
+            JsonValue arr = new JsonValue(ValueType.array), tail = null;
+            while (hasNextElement()) tail = link(arr, tail, readValue());
+            return arr;
+        }
+        if (c == '"') return new JsonValue(string());
+        String s = bare();
+        if (s.isEmpty()) throw error("value expected");
+        switch (s){
+            case "true": return new JsonValue(true);
+            case "false": return new JsonValue(false);
+            case "null": return new JsonValue(ValueType.nullValue);
+        }
+        try {
+            if (s.indexOf('.') < 0 && s.indexOf('e') < 0 && s.indexOf('E') < 0) return new JsonValue(Long.parseLong(s), s);
+            return new JsonValue(Double.parseDouble(s), s);
+        } catch (NumberFormatException ex){
+            return new JsonValue(s); // libGDX treats other bare words as strings
+        }
+    }
+
+    void skipValue() throws IOException {
+        int c = skipWs();
+        if (c == '{'){ next(); while (nextKey() != null) skipValue(); }
+        else if (c == '['){ next(); while (hasNextElement()) skipValue(); }
+        else if (c == '"') skipString();
+        else if (bare().isEmpty()) throw error("value expected");
+    }
+
+    private static JsonValue link(JsonValue parent, JsonValue tail, JsonValue v){
+        v.parent = parent;
+        if (tail == null) parent.child = v; else { tail.next = v; v.prev = tail; }
+        parent.size++;
+        return v;
+    }
+
+    // ----- Lexing -----
+    private int peek() throws IOException { if (peeked == -2) peeked = r.read(); return peeked; }
+    private int next() throws IOException { int c = peek(); peeked = -2; if (c != -1) consumed++; return c; }
+
+    private void expect(char want) throws IOException {
+        if (skipWs() != want) throw error("'" + want + "' expected");
+        next();
+    }
+    /** Skips whitespace and at most one comma; returns the next significant character. */
+    private int separator(char close) throws IOException {
+        int c = skipWs();
+        if (c == ','){ next(); c = skipWs(); }
+        if (c == -1) throw error("'" + close + "' expected");
+        return c;
+    }
+    private int skipWs() throws IOException {
+        while (true){
+            int c = peek();
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r'){ next(); continue; }
+            if (c == '/'){
+                next();
+                int k = next();
+                if (k == '/'){ while ((c = next()) != '\n' && c != -1) {} continue; }
+                if (k == '*'){ int prev = 0; while ((c = next()) != -1 && !(prev == '*' && c == '/')) prev = c; continue; }
+                throw error("bad comment");
+            }
+            return c;
+        }
+    }
+    private String string() throws IOException {
+        next(); // opening quote
+        sb.setLength(0);
+        while (true){
+            int c = next();
+            if (c == -1) throw error("unterminated string");
+            if (c == '"') return sb.toString();
+            if (c != '\\'){ sb.append((char)c); continue; }
+            int e = next();
+            switch (e){
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u': {
+                    int v = 0;
+                    for (int i=0;i<4;i++){ int d = Character.digit(next(), 16); if (d < 0) throw error("bad \\u escape"); v = v*16 + d; }
+                    sb.append((char)v); break;
+                }
+                case -1: throw error("unterminated string");
+                default: sb.append((char)e);
+            }
+        }
+    }
+    private void skipString() throws IOException {
+        next();
+        int c;
+        while ((c = next()) != '"'){
+            if (c == -1) throw error("unterminated string");
+            if (c == '\\') next();
+        }
+    }
+    private String bare() throws IOException {
+        sb.setLength(0);
+        int c;
+        while ((c = peek()) != -1 && (Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '-' || c == '+' || c == '.'))
+            sb.append((char)next());
+        return sb.toString();
+    }
+
+    private SerializationException error(String what){
+        return new SerializationException("JSON: " + what + " at character " + consumed);
+    }
+}
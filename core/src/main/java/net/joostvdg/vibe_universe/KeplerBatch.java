@@ -0,0 +1,67 @@
+package net.joostvdg.vibe_universe;
+
+/**
+ * Batch solver for Kepler's equation {@code M = E - e·sin(E)} over whole arrays of bodies.
+ *
+ * When the {@code jdk.incubator.vector} module is present (run with
+ * {@code --add-modules jdk.incubator.vector}) the solve runs in SIMD lanes via {@link VectorKepler};
+ * otherwise the scalar loop below is used. Both paths use the same polynomial sin/cos built only from
+ * IEEE add/mul/div and the same masked Newton iteration, so they produce bit-identical results and a
+ * body's E never depends on which lane or chunk it was solved in. Set {@code -Dvibe.simd=false} to
+ * force the scalar path.
+ */
+public final class KeplerBatch {
+    static final int MAX_ITER = 8;
+    static final float TOL = 1e-6f;
+
+    static final float PI = (float)Math.PI, PI2 = (float)(Math.PI*2), HALF_PI = (float)(Math.PI/2);
+    // Taylor coefficients of sin(x) on [-PI/2, PI/2]; truncation error < 6e-8
+    static final float S3 = -1f/6f, S5 = 1f/120f, S7 = -1f/5040f, S9 = 1f/362880f, S11 = -1f/39916800f;
+
+    private static final boolean VECTOR = detectVector();
+
+    private KeplerBatch(){}
+
+    private static boolean detectVector(){
+        if (!Boolean.parseBoolean(System.getProperty("vibe.simd", "true"))) return false;
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return false;
+        try { return VectorKepler.lanes() > 1; }
+        catch (Throwable t) { return false; }
+    }
+
+    /** True when {@link #solve} runs on the Vector API. */
+    public static boolean vectorized(){ return VECTOR; }
+
+    /** Solves {@code E[i]} for {@code i in [from,to)} from mean anomalies {@code M} (radians, |M| ≤ π) and eccentricities {@code e}. */
+    public static void solve(float[] M, float[] e, float[] E, int from, int to){
+        if (VECTOR) VectorKepler.solve(M, e, E, from, to);
+        else solveScalar(M, e, E, from, to);
+    }
+
+    public static void solveScalar(float[] M, float[] e, float[] E, int from, int to){
+        for (int i=from;i<to;i++) E[i]=solve(M[i], e[i]);
+    }
+
+    /** Single-body solve; same arithmetic as one SIMD lane. */
+    public static float solve(float M, float e){
+        float E=M+e*sin(M)*(1f+e*cos(M));
+        for (int k=0;k<MAX_ITER;k++){
+            float f=E-e*sin(E)-M, fp=1f-e*cos(E);
+            float d=f/fp;
+            if (!(Math.abs(d)>=TOL)) break;
+            E-=d;
+        }
+        return E;
+    }
+
+    // ----- Polynomial trig (valid for |x| < 3π, which covers every Newton iterate for e < 1) -----
+    static float sin(float x){
+        if (x >  PI) x -= PI2;
+        if (x < -PI) x += PI2;
+        if (x >  HALF_PI) x =  PI - x;
+        if (x < -HALF_PI) x = -PI - x;
+        float x2=x*x;
+        return x*(1f + x2*(S3 + x2*(S5 + x2*(S7 + x2*(S9 + x2*S11)))));
+    }
+    static float cos(float x){ return sin(x + HALF_PI); }
+}
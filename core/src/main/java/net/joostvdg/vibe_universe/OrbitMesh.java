@@ -0,0 +1,63 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * One orbit ellipse as a static, VBO-backed line strip of packed xyz floats, in the orbit's own frame
+ * (focus at the origin). It is only rebuilt when the orbit's shape or tessellation changes; drawing it
+ * is a single call.
+ *
+ * Vertices are spaced evenly in true anomaly, which packs them around periapsis where eccentric orbits
+ * bend hardest, and the segment count follows the orbit's projected size ({@link #segmentsFor}).
+ */
+public class OrbitMesh implements Disposable {
+    public static final int MIN_SEGMENTS = 16, MAX_SEGMENTS = 512;
+
+    private final Mesh mesh;
+    private final float[] verts;
+    private final int maxSegments;
+    private int vertexCount;
+
+    public OrbitMesh(int maxSegments){
+        this.maxSegments = maxSegments;
+        this.verts = new float[(maxSegments + 1) * 3];
+        this.mesh = new Mesh(true, maxSegments + 1, 0, new VertexAttribute(Usage.Position, 3, ShaderProgram.POSITION_ATTRIBUTE));
+    }
+
+    /**
+     * Segments needed so the chord error of an orbit {@code radiusPx} pixels across (in radius) stays
+     * around half a pixel: a circle's sagitta is R·(π/N)²/2, so N ≈ π·√R, with extra for eccentricity.
+     */
+    public static int segmentsFor(float radiusPx, float e){
+        int n = (int)Math.ceil(MathUtils.PI * Math.sqrt(Math.max(0f, radiusPx)) * (1f + e));
+        return MathUtils.clamp(n, MIN_SEGMENTS, MAX_SEGMENTS);
+    }
+
+    /** Rebuilds the ellipse with semi-axes {@code a}, {@code b}, eccentricity {@code e} and inclination {@code incDeg}. */
+    public void set(float a, float b, float e, float incDeg, int segments){
+        segments = MathUtils.clamp(segments, 3, maxSegments);
+        float inc=incDeg*MathUtils.degreesToRadians, cosI=(float)Math.cos(inc), sinI=(float)Math.sin(inc);
+        float p = b*b/a;   // semi-latus rectum
+        int k=0;
+        for (int i=0;i<=segments;i++){
+            double nu=(i/(double)segments)*Math.PI*2;
+            float cosNu=(float)Math.cos(nu), sinNu=(float)Math.sin(nu);
+            float r=p/(1f+e*cosNu);
+            float x=r*cosNu, z0=r*sinNu;
+            verts[k++]=x; verts[k++]=z0*sinI; verts[k++]=z0*cosI;
+        }
+        vertexCount = segments + 1;
+        mesh.setVertices(verts, 0, k);
+    }
+
+    Mesh mesh(){ return mesh; }
+    int vertexCount(){ return vertexCount; }
+    public int segments(){ return vertexCount - 1; }
+
+    @Override public void dispose(){ mesh.dispose(); }
+}
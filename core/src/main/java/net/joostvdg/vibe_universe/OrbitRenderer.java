@@ -0,0 +1,37 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Draws {@link OrbitMesh}es: one draw call per orbit, optionally translated onto a parent body. */
+public class OrbitRenderer implements Disposable {
+    private final ShaderProgram shader;
+    private final Matrix4 world = new Matrix4();
+
+    public OrbitRenderer(){
+        shader = new ShaderProgram(Gdx.files.internal("shaders/orbit.vert"), Gdx.files.internal("shaders/orbit.frag"));
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Orbit shader failed to compile: " + shader.getLog());
+    }
+
+    public void begin(Camera cam){
+        shader.bind();
+        shader.setUniformMatrix("u_projViewTrans", cam.combined);
+    }
+
+    /** @param origin parent position for moon orbits, or {@code null} for orbits around the star */
+    public void draw(OrbitMesh orbit, Color color, Vector3 origin){
+        if (origin == null) world.idt(); else world.setToTranslation(origin);
+        shader.setUniformMatrix("u_worldTrans", world);
+        shader.setUniformf("u_color", color);
+        orbit.mesh().render(shader, GL20.GL_LINE_STRIP, 0, orbit.vertexCount());
+    }
+
+    @Override public void dispose(){ shader.dispose(); }
+}
@@ -0,0 +1,25 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.g3d.Attribute;
+
+/** Material attribute that makes {@link ProceduralSurfaceShader} draw the body's {@link TextureSpec} per fragment. */
+public class ProceduralSurfaceAttribute extends Attribute {
+    public static final String Alias = "proceduralSurface";
+    public static final long Type = register(Alias);
+
+    public final TextureSpec spec;
+
+    public ProceduralSurfaceAttribute(TextureSpec spec){
+        super(Type);
+        this.spec = spec;
+    }
+
+    @Override public Attribute copy(){ return new ProceduralSurfaceAttribute(spec); }
+
+    @Override public int hashCode(){ return 31 * (int)type + spec.hashCode(); }
+
+    @Override public int compareTo(Attribute o){
+        if (type != o.type) return type < o.type ? -1 : 1;
+        return Integer.compare(spec.hashCode(), ((ProceduralSurfaceAttribute)o).spec.hashCode());
+    }
+}
@@ -0,0 +1,110 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g3d.Attributes;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
+import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * libGDX's {@link DefaultShader} with the diffuse colour replaced by the speckle/banded surface from
+ * {@code shaders/surface.glsl}, so procedural bodies need no CPU generation and no texture memory.
+ * Lighting, emissive and fog are untouched. Used for renderables carrying a {@link ProceduralSurfaceAttribute}.
+ */
+public class ProceduralSurfaceShader extends DefaultShader {
+    public static final int MAX_BANDS = 8;
+
+    private static String vertexSource, fragmentSource;
+
+    private final int uType, uColorA, uColorB, uParams, uGrid, uBands;
+    private final float[] bands = new float[MAX_BANDS * 3];
+
+    public ProceduralSurfaceShader(Renderable renderable, Config config){
+        super(renderable, surfaceConfig(config));
+        uType   = register("u_surfType");
+        uColorA = register("u_surfColorA");
+        uColorB = register("u_surfColorB");
+        uParams = register("u_surfParams");
+        uGrid   = register("u_surfGrid");
+        uBands  = register("u_surfBands[0]");
+    }
+
+    @Override public boolean canRender(Renderable renderable){
+        return renderable.material.has(ProceduralSurfaceAttribute.Type) && super.canRender(renderable);
+    }
+
+    @Override public void render(Renderable renderable, Attributes combinedAttributes){
+        TextureSpec s = ((ProceduralSurfaceAttribute)combinedAttributes.get(ProceduralSurfaceAttribute.Type)).spec;
+        set(uGrid, s.width, s.height);
+        if (s.type == TextureSpec.Type.BANDED){
+            int n = Math.min(s.bands.length, MAX_BANDS);
+            for (int i=0;i<n;i++){ bands[i*3]=s.bands[i][0]; bands[i*3+1]=s.bands[i][1]; bands[i*3+2]=s.bands[i][2]; }
+            set(uType, 1f);
+            set(uParams, s.jitter, n, 0f);
+            if (has(uBands)) program.setUniform3fv(loc(uBands), bands, 0, n * 3);
+        } else {
+            set(uType, 0f);
+            set(uColorA, s.colorA[0], s.colorA[1], s.colorA[2]);
+            set(uColorB, s.colorB[0], s.colorB[1], s.colorB[2]);
+            // keep the seed small so sin() in the hash stays precise on mediump/llvmpipe
+            set(uParams, s.density, (s.hashCode() & 1023), 0f);
+        }
+        super.render(renderable, combinedAttributes);
+    }
+
+    private static Config surfaceConfig(Config base){
+        Config c = new Config(vertexSource(), fragmentSource());
+        c.numDirectionalLights = base.numDirectionalLights;
+        c.numPointLights = base.numPointLights;
+        c.numSpotLights = base.numSpotLights;
+        c.numBones = base.numBones;
+        c.numBoneWeights = base.numBoneWeights;
+        c.defaultCullFace = base.defaultCullFace;
+        c.defaultDepthFunc = base.defaultDepthFunc;
+        return c;
+    }
+
+    // ----- Source splicing -----
+    private static String vertexSource(){
+        if (vertexSource == null)
+            vertexSource = splice(getDefaultVertexShader(), "void main() {",
+                    "varying vec3 v_surfPos;\n", "\n\tv_surfPos = a_position;");
+        return vertexSource;
+    }
+    private static String fragmentSource(){
+        if (fragmentSource == null){
+            String src = splice(getDefaultFragmentShader(), "void main() {",
+                    Gdx.files.internal("shaders/surface.glsl").readString("UTF-8"), "");
+            // the surface replaces whatever diffuse colour the default shader computed
+            fragmentSource = splice(src, "\t#if defined(emissiveTextureFlag) && defined(emissiveColorFlag)",
+                    "\tdiffuse.rgb = vibeSurface(normalize(v_surfPos));\n", "");
+        }
+        return fragmentSource;
+    }
+    private static String splice(String src, String anchor, String before, String after){
+        int i = src.indexOf(anchor);
+        if (i < 0) throw new GdxRuntimeException("Default shader changed, anchor not found: " + anchor);
+        int j = i + anchor.length();
+        return src.substring(0, i) + before + anchor + after + src.substring(j);
+    }
+
+    /** Hands out {@link ProceduralSurfaceShader}s for procedural materials; falls back to the default shader if it fails to build. */
+    public static class Provider extends DefaultShaderProvider {
+        private boolean failed;
+
+        @Override protected Shader createShader(Renderable renderable){
+            if (!failed && renderable.material.has(ProceduralSurfaceAttribute.Type)){
+                try { return new ProceduralSurfaceShader(renderable, config); }
+                catch (GdxRuntimeException ex){
+                    failed = true;
+                    Gdx.app.error("Vibe", "Procedural surface shader unavailable, bodies fall back to flat colour", ex);
+                }
+            }
+            return super.createShader(renderable);
+        }
+
+        public boolean failed(){ return failed; }
+    }
+}
@@ -0,0 +1,129 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * CPU generators for the procedural body textures. Everything here produces a {@link Pixmap}
+ * only (no GL calls) and keeps no shared state, so it can run on worker threads and be benchmarked headless;
+ * the caller owns the pixmap and uploads/disposes it.
+ */
+public final class ProceduralTextures {
+    /** Bump whenever a generator's output changes, so on-disk copies made by older builds are ignored. */
+    public static final int GENERATOR_VERSION = 1;
+
+    private ProceduralTextures(){}
+
+    // ----- Noise -----
+    static float hash2D(int x, int y){
+        int h = x*374761393 + y*668265263; // large primes
+        h = (h ^ (h >> 13)) * 1274126177;
+        h ^= (h >> 16);
+        // 0..1
+        return (h & 0x7FFFFFFF) / 2147483647f;
+    }
+    static float smoothNoise(float x, float y){
+        int xi = (int)Math.floor(x), yi = (int)Math.floor(y);
+        float tx = x - xi, ty = y - yi;
+
+        float a = hash2D(xi, yi);
+        float b = hash2D(xi+1, yi);
+        float c = hash2D(xi, yi+1);
+        float d = hash2D(xi+1, yi+1);
+
+        float sx = tx*tx*(3f-2f*tx);
+        float sy = ty*ty*(3f-2f*ty);
+
+        float u = MathUtils.lerp(a, b, sx);
+        float v = MathUtils.lerp(c, d, sx);
+        return MathUtils.lerp(u, v, sy);
+    }
+    static float smoothstep(float e0,float e1,float x){ float t=MathUtils.clamp((x-e0)/(e1-e0),0f,1f); return t*t*(3f-2f*t); }
+
+    // ----- Generators -----
+    public static Pixmap radialSun(int w,int h, Color inner, Color outer){
+        Pixmap pm=new Pixmap(w,h, Pixmap.Format.RGBA8888);
+        float cx=w/2f, cy=h/2f, maxR=Math.max(w,h)/2f;
+        for (int y=0;y<h;y++) for (int x=0;x<w;x++){
+            float dx=x-cx, dy=y-cy, r=(float)Math.sqrt(dx*dx+dy*dy)/maxR, t=MathUtils.clamp(r,0f,1f);
+            float rr=MathUtils.lerp(inner.r,outer.r,t), gg=MathUtils.lerp(inner.g,outer.g,t), bb=MathUtils.lerp(inner.b,outer.b,t);
+            pm.drawPixel(x,y, Color.rgba8888(rr,gg,bb,1f));
+        }
+        return pm;
+    }
+    public static Pixmap sunHalo(int size, Color color, float innerAlpha, float outerAlpha){
+        Pixmap pm=new Pixmap(size,size, Pixmap.Format.RGBA8888);
+        float cx=size*0.5f, cy=size*0.5f, maxR=size*0.5f;
+        for (int y=0;y<size;y++) for (int x=0;x<size;x++){
+            float dx=x-cx, dy=y-cy, r=(float)Math.sqrt(dx*dx+dy*dy)/maxR, t=MathUtils.clamp(r,0f,1f);
+            float a=MathUtils.lerp(innerAlpha, outerAlpha, t*t*(3f-2f*t));
+            pm.drawPixel(x,y, Color.rgba8888(color.r,color.g,color.b,a));
+        }
+        return pm;
+    }
+    /** Speck placement comes from {@code seed} (never the shared MathUtils RNG), so this is deterministic and thread-safe. */
+    public static Pixmap speckle(int w,int h, Color base, Color speck,float density, long seed){
+        Pixmap pm=new Pixmap(w,h, Pixmap.Format.RGBA8888);
+        pm.setColor(base); pm.fill(); pm.setColor(speck);
+        RandomXS128 rnd=new RandomXS128(seed);
+        int count=(int)(w*h*density);
+        for (int i=0;i<count;i++){ int x=rnd.nextInt(w), y=rnd.nextInt(h); pm.drawPixel(x,y); }
+        return pm;
+    }
+    public static Pixmap banded(int w,int h, Color[] bands, float jitter){
+        Pixmap pm=new Pixmap(w,h, Pixmap.Format.RGBA8888);
+        int nb=Math.max(2, bands.length);
+
+        // Frequency knobs
+        float latNoiseFreq = 6.0f;     // band waviness
+        float lonStreakFreq = 18.0f;   // faint longitudinal streaks
+        float turbAmount    = 0.15f;   // turbulence depth
+
+        for (int y=0; y<h; y++){
+            float t = y/(float)(h-1);          // 0..1 from pole to pole
+            float pos = t * nb;                // which band
+            int i = Math.min(nb-1, (int)pos);
+            float frac = pos - i;
+
+            // Band jitter by latitudinal noise
+            float n0 = smoothNoise(t*latNoiseFreq, 0.0f);
+            float n1 = smoothNoise(t*latNoiseFreq*2f, 3.3f);
+            float n2 = smoothNoise(t*latNoiseFreq*4f, 7.7f);
+            float turb = (n0*0.6f + n1*0.3f + n2*0.1f) - 0.5f;
+            float f = MathUtils.clamp(frac + turb*jitter*1.2f, 0f, 1f);
+
+            Color c0 = bands[i];
+            Color c1 = bands[Math.min(nb-1, i+1)];
+            float r = MathUtils.lerp(c0.r,c1.r,f);
+            float g = MathUtils.lerp(c0.g,c1.g,f);
+            float b = MathUtils.lerp(c0.b,c1.b,f);
+
+            // Longitudinal streaks (very subtle)
+            for (int x=0; x<w; x++){
+                float u = x/(float)(w-1);
+                float s0 = smoothNoise(u*lonStreakFreq, t*lonStreakFreq);
+                float s1 = smoothNoise(u*lonStreakFreq*2f, t*lonStreakFreq*0.8f);
+                float streak = (s0*0.7f + s1*0.3f - 0.5f) * 0.08f;
+                float rr = MathUtils.clamp(r + streak, 0f, 1f);
+                float gg = MathUtils.clamp(g + streak, 0f, 1f);
+                float bb = MathUtils.clamp(b + streak*0.6f, 0f, 1f);
+                pm.drawPixel(x,y, Color.rgba8888(rr,gg,bb,1f));
+            }
+        }
+        return pm;
+    }
+    public static Pixmap saturnRing(int w,int h){
+        Pixmap pm=new Pixmap(w,h, Pixmap.Format.RGBA8888);
+        for (int x=0;x<w;x++){
+            float u=x/(float)(w-1);
+            float r=MathUtils.lerp(0.88f,0.96f,u), g=MathUtils.lerp(0.82f,0.92f,u), b=MathUtils.lerp(0.70f,0.86f,u);
+            float alpha=smoothstep(0.05f,0.95f,u);
+            float bands=(MathUtils.sin(u*70f)*0.5f+0.5f)*0.12f + (MathUtils.sin(u*14f)*0.5f+0.5f)*0.08f;
+            r*=(1f-bands*0.6f); g*=(1f-bands*0.6f); b*=(1f-bands*0.6f);
+            int rgba=Color.rgba8888(r,g,b,alpha); for (int y=0;y<h;y++) pm.drawPixel(x,y,rgba);
+        }
+        return pm;
+    }
+}
@@ -0,0 +1,86 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws planetary rings from one shared unit annulus: each vertex only knows its angle and whether it sits on the
+ * inner or outer edge, and the vertex shader places it at the ring's inner/outer radius (uniforms). Changing a
+ * ring's radii, or adding ringed planets, never touches a GPU buffer. The radial profile comes from one shared
+ * texture tinted per ring; lighting is the star's point light (DefaultShader falloff, both faces) plus ambient.
+ */
+public class RingRenderer implements Disposable {
+    static final int SEGMENTS = 128;
+
+    private final ShaderProgram shader;
+    private final Mesh mesh;
+    private final Texture profile;
+
+    public RingRenderer(){
+        shader = new ShaderProgram(Gdx.files.internal("shaders/rings.vert"), Gdx.files.internal("shaders/rings.frag"));
+        if (!shader.isCompiled()) throw new GdxRuntimeException("Ring shader failed to compile: " + shader.getLog());
+        // (cos, sin, edge) per vertex, edge 0 = inner, 1 = outer; the seam vertices repeat so the strip closes
+        float[] v = new float[(SEGMENTS + 1) * 2 * 3];
+        for (int i=0, k=0;i<=SEGMENTS;i++){
+            float a = i * MathUtils.PI2 / SEGMENTS, c = MathUtils.cos(a), s = MathUtils.sin(a);
+            v[k++]=c; v[k++]=s; v[k++]=0f;
+            v[k++]=c; v[k++]=s; v[k++]=1f;
+        }
+        mesh = new Mesh(true, v.length / 3, 0, new VertexAttribute(Usage.Generic, 3, "a_ring"));
+        mesh.setVertices(v);
+        Pixmap pm = ProceduralTextures.saturnRing(1024, 1);
+        profile = new Texture(pm);
+        pm.dispose();
+        profile.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+    }
+
+    /** Binds the ring state for this frame; follow with {@link #draw} per ring and {@link #end()}. */
+    public void begin(Camera cam, Color light, float lightIntensity, float ambient){
+        Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
+        Gdx.gl.glDepthMask(false);   // translucent: tested against the bodies, hides nothing itself
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.bind();
+        profile.bind(0);
+        shader.setUniformi("u_profile", 0);
+        shader.setUniformMatrix("u_projViewTrans", cam.combined);
+        shader.setUniformf("u_lightColor", light.r * lightIntensity, light.g * lightIntensity, light.b * lightIntensity);
+        shader.setUniformf("u_ambient", ambient);
+    }
+
+    /**
+     * Draws one ring in the XZ plane of {@code transform} (rotation and translation only), between world radii
+     * {@code inner} and {@code outer}, tinted by {@code spec}'s colour.
+     */
+    public void draw(Matrix4 transform, float inner, float outer, RingSpec spec){
+        float[] c = spec.color;
+        shader.setUniformMatrix("u_worldTrans", transform);
+        shader.setUniformf("u_radii", inner, outer);
+        shader.setUniformf("u_tint", c[0], c[1], c[2], c[3]);
+        mesh.render(shader, GL20.GL_TRIANGLE_STRIP);
+    }
+
+    public void end(){
+        Gdx.gl.glDepthMask(true);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        Gdx.gl.glDisable(GL20.GL_DEPTH_TEST);
+    }
+
+    @Override public void dispose(){
+        mesh.dispose();
+        shader.dispose();
+        profile.dispose();
+    }
+}
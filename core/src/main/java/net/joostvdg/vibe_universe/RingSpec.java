@@ -0,0 +1,30 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.utils.JsonValue;
+
+/**
+ * Immutable description of a planetary ring system (the JSON {@code "rings"} block). Radii are in planet radii,
+ * measured in the planet's equatorial plane; {@code color} tints the shared ring texture and its alpha scales
+ * the opacity.
+ */
+public final class RingSpec {
+    public final float inner, outer;
+    final float[] color;   // rgba
+
+    public RingSpec(float inner, float outer, float r, float g, float b, float opacity){
+        this.inner = Math.max(1f, Math.min(inner, outer));
+        this.outer = Math.max(this.inner, outer);
+        this.color = new float[]{ r, g, b, opacity };
+    }
+
+    /** Reads a JSON rings block; {@code null} when there is none or it has no width. */
+    public static RingSpec fromJson(JsonValue node){
+        if (node==null) return null;
+        float inner = node.getFloat("inner", 2.5f), outer = node.getFloat("outer", 4f);
+        if (outer <= inner) return null;
+        JsonValue c = node.get("color");
+        boolean rgb = c != null && c.size >= 3;
+        return new RingSpec(inner, outer, rgb ? c.getFloat(0) : 1f, rgb ? c.getFloat(1) : 1f, rgb ? c.getFloat(2) : 1f,
+                node.getFloat("opacity", 1f));
+    }
+}
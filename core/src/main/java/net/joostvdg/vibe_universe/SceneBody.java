@@ -0,0 +1,45 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * The GL-free part of a planet or moon: its transform as read back from the sim, and what the last {@link SimFrame}
+ * chose for it (LOD level, impostor, material row, orbit tessellation). VibeUniverse's bodies add the model instance
+ * and orbit mesh on top; the allocation check drives plain instances.
+ */
+class SceneBody {
+    final SceneBody parent;      // orbit centre; null: the star
+    final float e, spinTiltDeg;
+    final Matrix4 transform = new Matrix4();   // shared with the body's ModelInstance
+    final Vector3 position = new Vector3();
+    float scale;                 // visual radius (a moon's follows the moon mode)
+    boolean visible = true;
+    int simIndex = -1;           // slot in UniverseSim
+    int lod = -1;                // SphereLods level in use; -1 until first drawn
+    boolean impostor;            // drawn as a point sprite this frame
+    final Color impostorColor = new Color(Color.WHITE);   // material diffuse, or the surface's average
+    TextureSpec surface;         // procedural surface, if any (whichever way it is drawn)
+    int materialRow = -1;        // BodyInstances material; -1 until first drawn there
+    RingSpec rings;              // null: no rings
+    float ringInner, ringOuter;  // world radii, set by layoutRings()
+    float orbitA;                // semi-major axis of the orbit line as last built
+    int orbitSegments = SimFrame.ORBIT_SEGMENTS;
+
+    SceneBody(SceneBody parent, float e, float spinTiltDeg, float scale){
+        this.parent=parent; this.e=e; this.spinTiltDeg=spinTiltDeg; this.scale=scale;
+    }
+
+    /** Reads the propagated position and spin back from the sim into {@link #transform}. */
+    void syncFromSim(UniverseSim sim){
+        sim.position(simIndex, position);
+        transform.setToScaling(scale, scale, scale);
+        transform.rotate(Vector3.X, spinTiltDeg);
+        transform.rotate(Vector3.Y, sim.spinDeg(simIndex));
+        transform.setTranslation(position);
+    }
+
+    /** Radius of the sphere as drawn, in world units. */
+    float drawnRadius(){ return scale * SphereLods.RADIUS; }
+}
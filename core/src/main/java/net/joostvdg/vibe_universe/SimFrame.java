@@ -0,0 +1,156 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * The CPU side of a SIM frame, with no GL calls, so the allocation check (benchmarks: FrameAllocationCheck) runs
+ * the very code VibeUniverse.render() runs. {@link #update} propagates and spins the sim, reads the transforms and
+ * belt particles back, culls against the view frustum, picks each body's LOD or impostor, packs the instanced and
+ * impostor batches, and decides which rings, orbit lines and axes to draw and whether the HUD status line is stale.
+ * render() then only uploads and submits what it left behind.
+ */
+final class SimFrame<B extends SceneBody> {
+    static final int ORBIT_SEGMENTS = 64;           // until the first screen-space pass has run
+    static final float ORBIT_RETESS_RATIO = 1.25f;  // hysteresis before an orbit is re-tessellated
+    static final float ORBIT_RETESS_SECONDS = 0.5f; // moon orbits travel with their planet
+    static final float EARTH_DAY_DAYS = 0.99726968f; // sidereal-ish
+    static final float EARTH_SMOOTH_SECONDS = 20f;
+
+    private final UniverseSim sim;
+    private final EphemerisCache ephemeris;        // null: always solve
+    private final PerspectiveCamera camera;
+    private final FrameProfiler profiler;
+    private final Array<? extends B> planets, moons;
+    private final Array<Belt> belts;
+    private final BodyInstances instances;         // null: bodies go to meshBodies (model batch)
+    private final ImpostorPoints impostors;        // null: impostors off
+    private final float impostorThresholdPx;
+
+    // ----- Results of the last update -----
+    /** Bodies to draw through the model batch (no instancing), at their {@link SceneBody#lod}. */
+    final Array<B> meshBodies = new Array<>();
+    /** Ringed planets drawn as meshes and in view. */
+    final Array<B> ringBodies = new Array<>();
+    /** Bodies whose {@link SceneBody#orbitSegments} moved; their orbit lines need rebuilding. */
+    final Array<B> staleOrbits = new Array<>();
+    /** Spin axis lines, two xyz end points per planet. */
+    final FloatArray axes = new FloatArray();
+    final HudStatus hudStatus = new HudStatus();
+
+    private int tessCameraVersion = -1;
+    private float tessTimer;
+    private final Vector3 tmpA = new Vector3();
+    private final Quaternion tmpQ = new Quaternion();
+
+    SimFrame(UniverseSim sim, EphemerisCache ephemeris, PerspectiveCamera camera, FrameProfiler profiler,
+             Array<? extends B> planets, Array<? extends B> moons, Array<Belt> belts,
+             BodyInstances instances, ImpostorPoints impostors, float impostorThresholdPx){
+        this.sim=sim; this.ephemeris=ephemeris; this.camera=camera; this.profiler=profiler;
+        this.planets=planets; this.moons=moons; this.belts=belts;
+        this.instances=instances; this.impostors=impostors; this.impostorThresholdPx=impostorThresholdPx;
+    }
+
+    /**
+     * One frame at {@code simTimeDays}; leaves the profiler in the {@link FrameProfiler.Phase#MODELS} phase.
+     * {@code cameraVersion} changes whenever the view does, which re-tessellates the orbits.
+     */
+    void update(float dt, double simTimeDays, float timeScale, boolean paused, boolean smoothSpin, boolean orbits,
+                boolean showAxes, boolean compress, int cameraVersion, int fps){
+        profiler.phase(FrameProfiler.Phase.PROPAGATION);
+        if (ephemeris!=null) ephemeris.setPlaybackRate(timeScale);
+        sim.update(simTimeDays);
+        if (smoothSpin) {
+            // Earth: 360° per 20s → others proportional to their rotationDays (real time)
+            sim.updateSpinSmooth(dt, EARTH_SMOOTH_SECONDS / EARTH_DAY_DAYS);
+        } else {
+            // REALISTIC = tied to sim time (scales with timeScale)
+            sim.updateSpinRealistic(simTimeDays);
+        }
+        for (B p:planets) p.syncFromSim(sim);
+        for (B m:moons) if (m.visible) m.syncFromSim(sim);
+        for (Belt b:belts) b.pack(sim);
+
+        profiler.phase(FrameProfiler.Phase.MODELS);
+        float focalPx = focalPixels(camera);
+        meshBodies.clear();
+        if (instances!=null) instances.begin();
+        if (impostors!=null) impostors.begin();
+        for (B p:planets) prepare(p, focalPx);
+        for (B m:moons) if (m.visible) prepare(m, focalPx);
+
+        ringBodies.clear();
+        for (B p:planets){
+            if (p.rings!=null && !p.impostor && camera.frustum.sphereInFrustum(p.position, p.ringOuter)) ringBodies.add(p);
+        }
+
+        staleOrbits.clear();
+        if (orbits){
+            tessTimer += dt;
+            if (tessCameraVersion != cameraVersion || tessTimer > ORBIT_RETESS_SECONDS){
+                tessCameraVersion = cameraVersion; tessTimer = 0f;
+                for (B p:planets) retessellate(p, Vector3.Zero, focalPx);
+                for (B m:moons) if (m.visible) retessellate(m, m.parent.position, focalPx);
+            }
+        }
+
+        axes.clear();
+        if (showAxes){
+            for (B p:planets){
+                p.transform.getRotation(tmpQ, true);
+                Vector3 axis = tmpQ.transform(tmpA.set(0,1,0)).nor();
+                float len=Math.max(1.5f, p.scale*2.2f);
+                Vector3 c=p.position;
+                axes.add(c.x-axis.x*len, c.y-axis.y*len, c.z-axis.z*len);
+                axes.add(c.x+axis.x*len, c.y+axis.y*len, c.z+axis.z*len);
+            }
+        }
+
+        hudStatus.update(dt, simTimeDays, timeScale, paused, fps, compress, showAxes);
+    }
+
+    // ----- Culling / LOD / impostors -----
+    /**
+     * Frustum test against the body's bounding sphere; visible bodies below {@link #impostorThresholdPx} are queued
+     * as impostors (switching back once {@link SphereLods#HYSTERESIS} above it), the rest get their LOD picked and go
+     * to the instanced batch or {@link #meshBodies}.
+     */
+    private void prepare(B body, float focalPx){
+        float r = body.drawnRadius();
+        if (!camera.frustum.sphereInFrustum(body.position, r)) return;
+        float radiusPx = r * focalPx / Math.max(camera.position.dst(body.position), camera.near);
+        float threshold = body.impostor ? impostorThresholdPx * (1f + SphereLods.HYSTERESIS) : impostorThresholdPx;
+        body.impostor = impostors!=null && radiusPx < threshold;
+        if (body.impostor){ impostors.add(body.position, radiusPx, body.impostorColor); return; }
+        body.lod = SphereLods.select(body.lod, radiusPx);
+        if (instances==null){ meshBodies.add(body); return; }
+        if (body.materialRow<0) body.materialRow = instances.material(body.surface, body.impostorColor);
+        instances.add(body.lod, body.transform, body.materialRow);
+    }
+
+    // ----- Orbit tessellation -----
+    /**
+     * Picks the orbit's segment count from its projected radius in pixels and marks it stale when the count moved by
+     * more than {@link #ORBIT_RETESS_RATIO}.
+     */
+    private void retessellate(B body, Vector3 centre, float focalPx){
+        float a = body.orbitA;
+        // distance to the nearest point of the orbit; inside the orbit it fills the view
+        float dist = Math.max(camera.position.dst(centre) - a, camera.near);
+        int want = OrbitMesh.segmentsFor(a * focalPx / dist, body.e);
+        int have = body.orbitSegments;
+        if (want > have * ORBIT_RETESS_RATIO || want * ORBIT_RETESS_RATIO < have){
+            body.orbitSegments = want;
+            staleOrbits.add(body);
+        }
+    }
+
+    /** Pixels per world unit at distance 1 along the view axis. */
+    static float focalPixels(PerspectiveCamera camera){
+        return camera.viewportHeight * 0.5f / (float)Math.tan(camera.fieldOfView * 0.5f * MathUtils.degreesToRadians);
+    }
+}
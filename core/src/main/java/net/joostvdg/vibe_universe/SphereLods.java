@@ -0,0 +1,51 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Unit-diameter sphere meshes at several tessellations, picked per body from its projected radius in pixels
+ * ({@link #select}). A body only moves to another level once its radius is {@link #HYSTERESIS} past the
+ * boundary, so one sitting on a boundary doesn't flicker. Switching swaps the instance's mesh part; its
+ * materials and textures stay put.
+ */
+final class SphereLods implements Disposable {
+    static final int[] SEGMENTS = { 8, 12, 18, 24, 36, 48 };
+    /** Largest projected radius (px) each level is used for; the last level has no limit. */
+    static final float[] MAX_RADIUS_PX = { 3f, 8f, 20f, 48f, 120f };
+    static final float HYSTERESIS = 0.20f;
+    static final float RADIUS = 0.5f;             // of the unit-diameter spheres, before the body's scale
+    static final int PLANET_DEFAULT = 3, MOON_DEFAULT = 2;   // the old fixed 24x24 and 18x18 spheres
+
+    private final Model[] models = new Model[SEGMENTS.length];
+
+    SphereLods(ModelBuilder mb, long usage){
+        for (int i=0;i<models.length;i++) models[i] = mb.createSphere(1f,1f,1f, SEGMENTS[i], SEGMENTS[i], new Material(), usage);
+    }
+
+    Model model(int level){ return models[level]; }
+
+    /** The level for a sphere {@code radiusPx} pixels in radius, moving from {@code current} (-1: no level yet). */
+    static int select(int current, float radiusPx){
+        int level = Math.max(current, 0);
+        if (current < 0){
+            while (level < MAX_RADIUS_PX.length && radiusPx > MAX_RADIUS_PX[level]) level++;
+            return level;
+        }
+        while (level < MAX_RADIUS_PX.length && radiusPx > MAX_RADIUS_PX[level] * (1f + HYSTERESIS)) level++;
+        while (level > 0 && radiusPx < MAX_RADIUS_PX[level-1] * (1f - HYSTERESIS)) level--;
+        return level;
+    }
+
+    /** Points {@code instance} (built from one of these models) at {@code level}'s mesh. */
+    void apply(ModelInstance instance, int level){
+        instance.nodes.first().parts.first().meshPart.set(models[level].meshParts.first());
+    }
+
+    @Override public void dispose(){
+        for (Model m : models) if (m != null) m.dispose();
+    }
+}
@@ -0,0 +1,304 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary form of the system model ({@code .vsys}): the same schema as the JSON, with defaults resolved,
+ * stored column-wise (one little-endian array per field) so a reader works straight off a read-only memory map:
+ * no text, no float parsing, and the OS shares the pages between processes.
+ *
+ * Layout: 10 header ints (magic, version, planet/moon/belt counts, band floats, string bytes, flags, name, description),
+ * 13 header floats (four scales, star color and emissive RGBA, star radius), then the planet, moon and belt columns in
+ * the order {@link #columns} reads them, the band colour pool and finally the string pool (each string is a byte
+ * length followed by UTF-8, padded to 4 bytes; string columns hold pool offsets).
+ */
+public final class SystemBinary {
+    public static final String EXTENSION = "vsys";
+    static final int MAGIC = 0x53595356; // "VSYS"
+    static final int VERSION = 2;   // 2: planet ring columns
+    private static final int HEADER_INTS = 10, HEADER_FLOATS = 13;
+    private static final int TEX_NONE = 0, TEX_SPECKLE = 1, TEX_BANDED = 2;
+
+    private final ByteBuffer buf;
+    private final int planets, moons, beltCount, flags, nameStr, descStr;
+    private final FloatBuffer head;
+    // planets
+    IntBuffer pIndex, pName, pTexType, pTexW, pTexH, pBandStart, pBandCount;
+    FloatBuffer pA, pE, pPeriod, pRadius, pInc, pTilt, pRot, pColor, pTexA, pTexB, pTexDensity, pTexJitter;
+    FloatBuffer pRingInner, pRingOuter, pRingColor;   // inner 0: no rings
+    // moons
+    IntBuffer mParent, mName, mRadius;
+    FloatBuffer mA, mE, mPeriod, mInc;
+    // belts
+    IntBuffer bName, bCount, bSeedLo, bSeedHi;
+    FloatBuffer bAMin, bAMax, bEMin, bEMax, bIncMin, bIncMax, bSize, bStarMass, bColor;
+    FloatBuffer bands;
+    private int strings, pos;
+
+    private SystemBinary(ByteBuffer buf){
+        this.buf = buf.order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.capacity() < (HEADER_INTS + HEADER_FLOATS) * 4 || buf.getInt(0) != MAGIC)
+            throw new GdxRuntimeException("Not a ." + EXTENSION + " file");
+        if (buf.getInt(4) != VERSION) throw new GdxRuntimeException("Unsupported ." + EXTENSION + " version " + buf.getInt(4));
+        planets = buf.getInt(8); moons = buf.getInt(12); beltCount = buf.getInt(16);
+        int bandFloats = buf.getInt(20), stringBytes = buf.getInt(24);
+        flags = buf.getInt(28); nameStr = buf.getInt(32); descStr = buf.getInt(36);
+        pos = HEADER_INTS * 4;
+        head = floats(HEADER_FLOATS);
+        columns(bandFloats);
+        if (strings + stringBytes != buf.capacity()) throw new GdxRuntimeException("Truncated ." + EXTENSION + " file");
+    }
+
+    /** Maps {@code file} read-only; files that aren't plain files on disk (classpath, jar) are read into memory instead. */
+    public static SystemBinary open(FileHandle file) throws IOException {
+        if (file.type() != FileType.Classpath && file.file().isFile()){
+            try (FileChannel ch = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)){
+                return new SystemBinary(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+            }
+        }
+        return new SystemBinary(ByteBuffer.wrap(file.readBytes()));
+    }
+
+    /** Reads a system held in memory, e.g. {@link Writer#toBytes()}. */
+    public static SystemBinary wrap(byte[] bytes){ return new SystemBinary(ByteBuffer.wrap(bytes)); }
+
+    /** The {@code .vsys} next to {@code json} if it exists, is at least as new and has this {@link #VERSION}, else {@code null}. */
+    public static FileHandle freshBinary(FileHandle json){
+        FileHandle bin = json.sibling(json.nameWithoutExtension() + "." + EXTENSION);
+        return bin.exists() && (!json.exists() || bin.lastModified() >= json.lastModified()) && currentVersion(bin) ? bin : null;
+    }
+
+    private static boolean currentVersion(FileHandle bin){
+        try (InputStream in = bin.read()){
+            byte[] b = new byte[8];
+            if (in.readNBytes(b, 0, 8) != 8) return false;
+            ByteBuffer head = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+            return head.getInt(0) == MAGIC && head.getInt(4) == VERSION;
+        } catch (IOException | RuntimeException e){ return false; }
+    }
+
+    /** {@code json}'s system as a SystemBinary: its fresh {@code .vsys} if there is one, otherwise converted in memory. */
+    public static SystemBinary load(FileHandle json) throws IOException {
+        FileHandle bin = freshBinary(json);
+        if (bin != null) return open(bin);
+        Writer w = new Writer();
+        SystemJson.read(() -> json.reader(8192, "UTF-8"), json.length(), w);
+        return wrap(w.toBytes());
+    }
+
+    public int planetCount(){ return planets; }
+    public int moonCount(){ return moons; }
+    public int beltCount(){ return beltCount; }
+
+    /** Delivers the whole system to {@code sink}: planets each followed by its moons, then belts (each kind in file order). */
+    public void replay(SystemSink sink){
+        Color c0 = new Color(), c1 = new Color();
+        sink.header(string(nameStr), string(descStr), head.get(0), head.get(1), head.get(2), head.get(3),
+                (flags & 1) != 0, (flags & 2) != 0,
+                c0.set(head.get(4), head.get(5), head.get(6), head.get(7)), c1.set(head.get(8), head.get(9), head.get(10), head.get(11)),
+                head.get(12));
+        int m = 0;
+        for (int p=0;p<planets;p++){
+            sink.planet(string(pName.get(p)), pIndex.get(p), pA.get(p), pE.get(p), pPeriod.get(p), pRadius.get(p),
+                    pInc.get(p), pTilt.get(p), pRot.get(p),
+                    c0.set(pColor.get(p*4), pColor.get(p*4+1), pColor.get(p*4+2), pColor.get(p*4+3)), texture(p), rings(p));
+            // moons are stored grouped by parent, in planet order
+            for (; m<moons && mParent.get(m)==p; m++)
+                sink.moon(p, string(mName.get(m)), mA.get(m), mE.get(m), mPeriod.get(m), mRadius.get(m), mInc.get(m));
+        }
+        for (int b=0;b<beltCount;b++){
+            sink.belt(string(bName.get(b)), bCount.get(b), ((long)bSeedHi.get(b) << 32) | (bSeedLo.get(b) & 0xffffffffL),
+                    bAMin.get(b), bAMax.get(b), bEMin.get(b), bEMax.get(b), bIncMin.get(b), bIncMax.get(b),
+                    bSize.get(b), bStarMass.get(b), c0.set(bColor.get(b*4), bColor.get(b*4+1), bColor.get(b*4+2), bColor.get(b*4+3)));
+        }
+        sink.progress(1f);
+    }
+
+    private TextureSpec texture(int p){
+        int w = pTexW.get(p), h = pTexH.get(p);
+        switch (pTexType.get(p)){
+            case TEX_SPECKLE:
+                return TextureSpec.speckle(w, h, new float[]{pTexA.get(p*3), pTexA.get(p*3+1), pTexA.get(p*3+2)},
+                        new float[]{pTexB.get(p*3), pTexB.get(p*3+1), pTexB.get(p*3+2)}, pTexDensity.get(p));
+            case TEX_BANDED: {
+                int start = pBandStart.get(p), n = pBandCount.get(p);
+                float[][] rgb = new float[n][];
+                for (int i=0;i<n;i++){ int k = (start + i) * 3; rgb[i] = new float[]{bands.get(k), bands.get(k+1), bands.get(k+2)}; }
+                return TextureSpec.banded(w, h, rgb, pTexJitter.get(p));
+            }
+            default: return null;
+        }
+    }
+
+    private RingSpec rings(int p){
+        if (pRingInner.get(p) <= 0f) return null;
+        return new RingSpec(pRingInner.get(p), pRingOuter.get(p),
+                pRingColor.get(p*4), pRingColor.get(p*4+1), pRingColor.get(p*4+2), pRingColor.get(p*4+3));
+    }
+
+    private String string(int offset){
+        int at = strings + offset, len = buf.getInt(at);
+        byte[] b = new byte[len];
+        buf.get(at + 4, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    // ----- Column layout (Writer.toBytes writes the same order) -----
+    private void columns(int bandFloats){
+        int P = planets, M = moons, B = beltCount;
+        pIndex = ints(P); pName = ints(P);
+        pA = floats(P); pE = floats(P); pPeriod = floats(P); pRadius = floats(P);
+        pInc = floats(P); pTilt = floats(P); pRot = floats(P); pColor = floats(P*4);
+        pTexType = ints(P); pTexW = ints(P); pTexH = ints(P);
+        pTexA = floats(P*3); pTexB = floats(P*3); pTexDensity = floats(P); pTexJitter = floats(P);
+        pBandStart = ints(P); pBandCount = ints(P);
+        pRingInner = floats(P); pRingOuter = floats(P); pRingColor = floats(P*4);
+
+        mParent = ints(M); mName = ints(M);
+        mA = floats(M); mE = floats(M); mPeriod = floats(M); mRadius = ints(M); mInc = floats(M);
+
+        bName = ints(B); bCount = ints(B); bSeedLo = ints(B); bSeedHi = ints(B);
+        bAMin = floats(B); bAMax = floats(B); bEMin = floats(B); bEMax = floats(B);
+        bIncMin = floats(B); bIncMax = floats(B); bSize = floats(B); bStarMass = floats(B); bColor = floats(B*4);
+
+        bands = floats(bandFloats);
+        strings = pos;
+    }
+    private ByteBuffer slice(int bytes){
+        if (pos + bytes > buf.capacity()) throw new GdxRuntimeException("Truncated ." + EXTENSION + " file");
+        ByteBuffer s = buf.slice(pos, bytes).order(ByteOrder.LITTLE_ENDIAN);
+        pos += bytes;
+        return s;
+    }
+    private FloatBuffer floats(int n){ return slice(n * 4).asFloatBuffer(); }
+    private IntBuffer ints(int n){ return slice(n * 4).asIntBuffer(); }
+
+    // ----- Writing -----
+    /** Collects a system from any {@link SystemSink} producer and writes it as {@code .vsys}. */
+    public static final class Writer implements SystemSink {
+        private final float[] head = new float[HEADER_FLOATS];
+        private int flags, nameStr, descStr, planets;
+        private final IntArray pIndex = new IntArray(), pName = new IntArray(), pTexType = new IntArray(), pTexW = new IntArray(),
+                pTexH = new IntArray(), pBandStart = new IntArray(), pBandCount = new IntArray();
+        private final FloatArray pA = new FloatArray(), pE = new FloatArray(), pPeriod = new FloatArray(), pRadius = new FloatArray(),
+                pInc = new FloatArray(), pTilt = new FloatArray(), pRot = new FloatArray(), pColor = new FloatArray(),
+                pTexA = new FloatArray(), pTexB = new FloatArray(), pTexDensity = new FloatArray(), pTexJitter = new FloatArray(),
+                pRingInner = new FloatArray(), pRingOuter = new FloatArray(), pRingColor = new FloatArray();
+        private final IntArray mParent = new IntArray(), mName = new IntArray(), mRadius = new IntArray();
+        private final FloatArray mA = new FloatArray(), mE = new FloatArray(), mPeriod = new FloatArray(), mInc = new FloatArray();
+        private final IntArray bName = new IntArray(), bCount = new IntArray(), bSeedLo = new IntArray(), bSeedHi = new IntArray();
+        private final FloatArray bAMin = new FloatArray(), bAMax = new FloatArray(), bEMin = new FloatArray(), bEMax = new FloatArray(),
+                bIncMin = new FloatArray(), bIncMax = new FloatArray(), bSize = new FloatArray(), bStarMass = new FloatArray(), bColor = new FloatArray();
+        private final FloatArray bands = new FloatArray();
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final ObjectIntMap<String> interned = new ObjectIntMap<>();
+
+        @Override public void header(String name, String description, float distanceScale, float planetSizeScale,
+                                     float moonExaggeratedScale, float moonRealisticScale,
+                                     boolean truePlanetProportions, boolean trueMoonProportionsInRealistic,
+                                     Color starColor, Color starEmissive, float starRadius){
+            nameStr = str(name); descStr = str(description);
+            flags = (truePlanetProportions ? 1 : 0) | (trueMoonProportionsInRealistic ? 2 : 0);
+            float[] h = { distanceScale, planetSizeScale, moonExaggeratedScale, moonRealisticScale,
+                    starColor.r, starColor.g, starColor.b, starColor.a, starEmissive.r, starEmissive.g, starEmissive.b, starEmissive.a, starRadius };
+            System.arraycopy(h, 0, head, 0, HEADER_FLOATS);
+        }
+
+        @Override public void planet(String name, int index, float aAU, float e, float periodDays, float radiusKm,
+                                     float inclinationDeg, float spinTiltDeg, float rotationDays, Color color, TextureSpec t, RingSpec r){
+            planets++;
+            pIndex.add(index); pName.add(str(name));
+            pA.add(aAU); pE.add(e); pPeriod.add(periodDays); pRadius.add(radiusKm);
+            pInc.add(inclinationDeg); pTilt.add(spinTiltDeg); pRot.add(rotationDays); pColor.addAll(color.r, color.g, color.b, color.a);
+            pTexType.add(t == null ? TEX_NONE : t.type == TextureSpec.Type.BANDED ? TEX_BANDED : TEX_SPECKLE);
+            pTexW.add(t == null ? 0 : t.width); pTexH.add(t == null ? 0 : t.height);
+            boolean speckle = t != null && t.type == TextureSpec.Type.SPECKLE;
+            pTexA.addAll(speckle ? t.colorA : new float[3]); pTexB.addAll(speckle ? t.colorB : new float[3]);
+            pTexDensity.add(speckle ? t.density : 0f); pTexJitter.add(t != null ? t.jitter : 0f);
+            pBandStart.add(bands.size / 3); pBandCount.add(t != null && t.bands != null ? t.bands.length : 0);
+            if (t != null && t.bands != null) for (float[] c : t.bands) bands.addAll(c);
+            pRingInner.add(r != null ? r.inner : 0f); pRingOuter.add(r != null ? r.outer : 0f);
+            pRingColor.addAll(r != null ? r.color : new float[4]);
+        }
+
+        @Override public void moon(int planet, String name, float aAU, float e, float periodDays, int radiusKm, float inclinationDeg){
+            if (planet != planets - 1 || (mParent.size > 0 && mParent.peek() > planet))
+                throw new GdxRuntimeException("Moons must follow their planet");
+            mParent.add(planet); mName.add(str(name));
+            mA.add(aAU); mE.add(e); mPeriod.add(periodDays); mRadius.add(radiusKm); mInc.add(inclinationDeg);
+        }
+
+        @Override public void belt(String name, int count, long seed, float aMin, float aMax, float eMin, float eMax,
+                                   float incMin, float incMax, float size, float starMass, Color color){
+            bName.add(str(name)); bCount.add(count); bSeedLo.add((int)seed); bSeedHi.add((int)(seed >>> 32));
+            bAMin.add(aMin); bAMax.add(aMax); bEMin.add(eMin); bEMax.add(eMax);
+            bIncMin.add(incMin); bIncMax.add(incMax); bSize.add(size); bStarMass.add(starMass); bColor.addAll(color.r, color.g, color.b, color.a);
+        }
+
+        private int str(String s){
+            if (interned.containsKey(s)) return interned.get(s, 0);
+            int at = pool.size();
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer len = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(b.length);
+            pool.write(len.array(), 0, 4);
+            pool.write(b, 0, b.length);
+            for (int pad = (4 - (b.length & 3)) & 3; pad > 0; pad--) pool.write(0);
+            interned.put(s, at);
+            return at;
+        }
+
+        public byte[] toBytes(){
+            int P = planets, M = mParent.size, B = bName.size;
+            ByteBuffer out = ByteBuffer.allocate(size()).order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putInt(VERSION).putInt(P).putInt(M).putInt(B).putInt(bands.size).putInt(pool.size())
+               .putInt(flags).putInt(nameStr).putInt(descStr);
+            for (float f : head) out.putFloat(f);
+            put(out, pIndex); put(out, pName);
+            put(out, pA); put(out, pE); put(out, pPeriod); put(out, pRadius);
+            put(out, pInc); put(out, pTilt); put(out, pRot); put(out, pColor);
+            put(out, pTexType); put(out, pTexW); put(out, pTexH);
+            put(out, pTexA); put(out, pTexB); put(out, pTexDensity); put(out, pTexJitter);
+            put(out, pBandStart); put(out, pBandCount);
+            put(out, pRingInner); put(out, pRingOuter); put(out, pRingColor);
+            put(out, mParent); put(out, mName);
+            put(out, mA); put(out, mE); put(out, mPeriod); put(out, mRadius); put(out, mInc);
+            put(out, bName); put(out, bCount); put(out, bSeedLo); put(out, bSeedHi);
+            put(out, bAMin); put(out, bAMax); put(out, bEMin); put(out, bEMax);
+            put(out, bIncMin); put(out, bIncMax); put(out, bSize); put(out, bStarMass); put(out, bColor);
+            put(out, bands);
+            out.put(pool.toByteArray());
+            return out.array();
+        }
+
+        public void write(FileHandle file){ file.writeBytes(toBytes(), false); }
+
+        private int size(){
+            int P = planets, M = mParent.size, B = bName.size;
+            int words = HEADER_INTS + HEADER_FLOATS
+                    + P * (2 + 7 + 4 + 3 + 3 + 3 + 2 + 2 + 6)
+                    + M * 7
+                    + B * (4 + 8 + 4)
+                    + bands.size;
+            return words * 4 + pool.size();
+        }
+        private static void put(ByteBuffer out, IntArray a){ for (int i=0;i<a.size;i++) out.putInt(a.items[i]); }
+        private static void put(ByteBuffer out, FloatArray a){ for (int i=0;i<a.size;i++) out.putFloat(a.items[i]); }
+    }
+}
@@ -0,0 +1,32 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+
+/**
+ * Converts JSON system models to {@code .vsys} next to them. Arguments are JSON files or directories of them;
+ * a model is skipped when its {@code .vsys} is already newer and of the current format version. Run via {@code gradle :core:convertModels}.
+ */
+public final class SystemBinaryConverter {
+    private SystemBinaryConverter(){}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0){ System.err.println("usage: SystemBinaryConverter <model.json | dir>..."); System.exit(2); }
+        int converted = 0;
+        for (String arg : args){
+            FileHandle in = new FileHandle(new File(arg));
+            FileHandle[] files = in.isDirectory() ? in.list(".json") : new FileHandle[]{ in };
+            for (FileHandle json : files){
+                FileHandle out = json.sibling(json.nameWithoutExtension() + "." + SystemBinary.EXTENSION);
+                if (SystemBinary.freshBinary(json) != null) continue;
+                SystemBinary.Writer w = new SystemBinary.Writer();
+                SystemJson.read(() -> json.reader(8192, "UTF-8"), json.length(), w);
+                w.write(out);
+                System.out.println(json.path() + " -> " + out.name() + " (" + out.length() + " bytes)");
+                converted++;
+            }
+        }
+        System.out.println(converted + " model(s) converted");
+    }
+}
@@ -0,0 +1,65 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.IOException;
+
+/** Decodes the JSON model schema onto a {@link SystemSink}; this is where every JSON default lives. */
+public final class SystemJson {
+    public static final int TEXTURE_WIDTH = 512, TEXTURE_HEIGHT = 256;
+
+    private SystemJson(){}
+
+    public static void read(SystemStreamLoader.Source source, long length, SystemSink sink) throws IOException {
+        SystemStreamLoader.load(source, length, new Decoder(sink));
+    }
+
+    private static final class Decoder implements SystemStreamLoader.Listener {
+        private final SystemSink sink;
+        private int nextIndex = 1, planets = 0;
+        Decoder(SystemSink sink){ this.sink = sink; }
+
+        @Override public void header(JsonValue root){
+            JsonValue star = root.get("star");
+            Color starColor = readColor(star != null ? star.get("color") : null, new Color(1f,0.95f,0.6f,1f));
+            Color starEmiss = readColor(star != null ? star.get("emissive") : null, new Color(1f,0.92f,0.55f,1f));
+            sink.header(root.getString("name", ""), root.getString("description", ""),
+                    root.getFloat("distanceScale", 1.0f), root.getFloat("planetSizeScale", 1.0f),
+                    root.getFloat("moonExaggeratedScale", 1.0f), root.getFloat("moonRealisticScale", 1.0f),
+                    root.getBoolean("truePlanetProportions", false), root.getBoolean("trueMoonProportionsInRealistic", false),
+                    starColor, starEmiss, star != null ? star.getFloat("radiusVisual", 4f) : 4f);
+        }
+
+        @Override public void body(JsonValue b){
+            String type = b.getString("type", "planet");
+            if ("belt".equals(type)){
+                float[] aR = readRange(b.get("aAU"), 2.1f, 3.3f), eR = readRange(b.get("e"), 0f, 0.2f), iR = readRange(b.get("inclinationDeg"), 0f, 10f);
+                sink.belt(b.getString("name", "belt"), b.getInt("count", 1000), b.getLong("seed", 1L),
+                        aR[0], aR[1], eR[0], eR[1], iR[0], iR[1], b.getFloat("size", 0.04f), b.getFloat("starMass", 1f),
+                        readColor(b.get("color"), new Color(0.6f,0.58f,0.55f,1f)));
+                return;
+            }
+            if (!"planet".equals(type)) return;
+            sink.planet(b.getString("name", "?"), b.getInt("index", nextIndex++),
+                    b.getFloat("aAU", 1f), b.getFloat("e", 0f), b.getFloat("periodDays", 365f), b.getFloat("radiusKm", 6371f),
+                    b.getFloat("inclinationDeg", 0f), b.getFloat("spinTiltDeg", 0f), b.getFloat("rotationDays", 0f),
+                    readColor(b.get("color"), new Color(1,1,1,1)),
+                    TextureSpec.fromJson(b.get("texture"), TEXTURE_WIDTH, TEXTURE_HEIGHT), RingSpec.fromJson(b.get("rings")));
+            int planet = planets++;
+            JsonValue ms = b.get("moons");
+            if (ms != null) for (JsonValue m : ms)
+                sink.moon(planet, m.getString("name", "m"), m.getFloat("aAU", 0.002f), m.getFloat("e", 0f),
+                        m.getFloat("periodDays", 5f), m.getInt("radiusKm", 1000), m.getFloat("inclinationDeg", 0f));
+        }
+
+        @Override public void progress(float fraction){ sink.progress(fraction); }
+    }
+
+    static float[] readRange(JsonValue v, float defMin, float defMax){
+        if (v==null) return new float[]{defMin,defMax};
+        if (v.isNumber()) return new float[]{v.asFloat(),v.asFloat()};
+        return v.size>=2 ? new float[]{v.getFloat(0),v.getFloat(1)} : new float[]{defMin,defMax};
+    }
+    static Color readColor(JsonValue v, Color def){ if (v==null||v.size<3) return def; return new Color(v.getFloat(0),v.getFloat(1),v.getFloat(2), v.size>3?v.getFloat(3):1f); }
+}
@@ -0,0 +1,93 @@
+package net.joostvdg.vibe_universe;
+
+/**
+ * World-space layout of a loaded system: orbit radii (with optional distance compression), visual body radii and
+ * moon clearance. GL-free, so the renderer and the headless scenario runner lay a model out identically. The model
+ * header sets the scales; the proportion and compression flags can then be toggled at runtime.
+ */
+public final class SystemLayout {
+    public static final float AU_TO_WORLD = 12f;
+    public static final float MOON_CLEARANCE_GAP = 0.60f;
+    public static final float MOON_SEPARATION = 1.5f;   // sibling orbits, in the larger moon's visual radius
+
+    public float distanceScale = 1.0f;      // multiplies AU_TO_WORLD for orbits
+    public float planetSizeScale = 1.0f;    // multiplies planet visual radii
+    public float moonExagScale = 1.0f;      // multiplies moon EXAGGERATED radii
+    public float moonRealScale = 1.0f;      // multiplies moon REALISTIC radii
+    public boolean truePlanetProportions, trueMoonProportionsInRealistic;
+    public boolean compressDistances;
+    public float compressGamma = 0.6f;
+
+    /** Applies a model header; the proportion flags are reset to the model's defaults. */
+    public void header(float distanceScale, float planetSizeScale, float moonExaggeratedScale, float moonRealisticScale,
+                       boolean truePlanetProportions, boolean trueMoonProportionsInRealistic){
+        this.distanceScale = distanceScale;
+        this.planetSizeScale = planetSizeScale;
+        this.moonExagScale = moonExaggeratedScale;
+        this.moonRealScale = moonRealisticScale;
+        this.truePlanetProportions = truePlanetProportions;
+        this.trueMoonProportionsInRealistic = trueMoonProportionsInRealistic;
+    }
+
+    // ----- Orbits -----
+    /** Heliocentric semi-major axis in world units; compression applies a power curve to the AU value. */
+    public float orbitAWorld(float aAU){
+        float aAUeff = compressDistances ? (float)Math.pow(aAU, compressGamma) : aAU;
+        return aAUeff * AU_TO_WORLD * distanceScale;
+    }
+
+    /**
+     * A moon's semi-major axis in world units: the configured distance (never compressed), pushed out so that
+     * periapsis {@code a(1-e)} clears the parent's and the moon's visual spheres plus {@link #MOON_CLEARANCE_GAP}.
+     */
+    public float moonAWorld(float aAU, float e, float parentRadius, float moonRadius){
+        float clearance = parentRadius + moonRadius + MOON_CLEARANCE_GAP;
+        float aBase = aAU * AU_TO_WORLD * distanceScale;
+        return Math.max(aBase, clearance / Math.max(0.0001f, 1f - e));
+    }
+
+    /**
+     * Spaces one planet's moons apart: taken in order of semi-major axis, each moon's {@code a} (world units, updated
+     * in place) is pushed out until it is at least {@link #MOON_SEPARATION} times the larger visual {@code radius} of
+     * the pair beyond the moon before it.
+     */
+    public static void separateMoons(float[] a, float[] radius, int count){
+        int[] order = new int[count];
+        for (int i=0;i<count;i++){
+            int j = i;
+            while (j > 0 && a[order[j-1]] > a[i]){ order[j] = order[j-1]; j--; }
+            order[j] = i;
+        }
+        for (int k=1;k<count;k++){
+            int inner = order[k-1], outer = order[k];
+            float minGap = MOON_SEPARATION * Math.max(radius[inner], radius[outer]);
+            if (a[outer] - a[inner] < minGap) a[outer] = a[inner] + minGap;
+        }
+    }
+
+    // ----- Sizes -----
+    public float planetVisualRadius(float radiusKm){
+        // If true proportions: visual radius ~ linear to actual radius, normalized by Earth
+        if (truePlanetProportions) {
+            return (float)(planetSizeScale * (radiusKm / 6371.0));
+        }
+        // Otherwise: perceptual (cube-root) mapping for legibility
+        double earth = Math.cbrt(6371.0), r = Math.cbrt(radiusKm);
+        return (float)(planetSizeScale * (1.2 * (r/earth)));
+    }
+
+    public float moonVisualRadiusExaggerated(float radiusKm){
+        // Perceptual mapping for exag. mode (a bit smaller than before) + model multiplier
+        double moon = Math.cbrt(1737.0), r = Math.cbrt(radiusKm);
+        return (float)(moonExagScale * (0.60 * (r/moon)));
+    }
+
+    public float moonVisualRadiusRealistic(float radiusKm){
+        // If true proportions in realistic mode: linear to actual radius, normalized by our Moon
+        if (trueMoonProportionsInRealistic) {
+            return (float)(moonRealScale * (radiusKm / 1737.0));
+        }
+        double moon = Math.cbrt(1737.0), r = Math.cbrt(radiusKm);
+        return (float)(moonRealScale * (0.28 * (r/moon)));
+    }
+}
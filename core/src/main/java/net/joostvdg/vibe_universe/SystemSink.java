@@ -0,0 +1,31 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * Typed events describing one system model, with every default already resolved. Produced by {@link SystemJson}
+ * and {@link SystemBinary}; consumed by the scene builder and by the binary writer. Colors and specs passed in
+ * may be reused by the caller after the call returns.
+ */
+public interface SystemSink {
+    void header(String name, String description, float distanceScale, float planetSizeScale,
+                float moonExaggeratedScale, float moonRealisticScale,
+                boolean truePlanetProportions, boolean trueMoonProportionsInRealistic,
+                Color starColor, Color starEmissive, float starRadius);
+
+    /**
+     * {@code texture} may be null (plain colour), {@code rings} null (no rings). Planets are numbered 0.. in call
+     * order for {@link #moon}.
+     */
+    void planet(String name, int index, float aAU, float e, float periodDays, float radiusKm,
+                float inclinationDeg, float spinTiltDeg, float rotationDays, Color color, TextureSpec texture, RingSpec rings);
+
+    /** A moon of the {@code planet}-th planet delivered so far. */
+    void moon(int planet, String name, float aAU, float e, float periodDays, int radiusKm, float inclinationDeg);
+
+    /** A procedural belt; ranges are [min,max] and the particles are generated from {@code seed}. */
+    void belt(String name, int count, long seed, float aMin, float aMax, float eMin, float eMax,
+              float incMin, float incMax, float size, float starMass, Color color);
+
+    default void progress(float fraction){}
+}
@@ -0,0 +1,63 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Event-style reader for system model files. Each element of {@code "bodies"} is materialized, delivered and
+ * dropped in turn, so peak memory is one body's subtree regardless of how many bodies the file holds.
+ *
+ * Header fields (scales, star, ...) may sit anywhere in the file, including after {@code "bodies"} as in the
+ * bundled exo models, yet bodies are built with them. So the source is read twice: a header pass that skips
+ * the bodies without building anything, then the body pass.
+ */
+public final class SystemStreamLoader {
+    /** Opens the model text; called once per pass. */
+    public interface Source { Reader open() throws IOException; }
+
+    public interface Listener {
+        /** Every top-level field except {@code "bodies"}; called exactly once, before the first body. */
+        void header(JsonValue header);
+        /** One element of the {@code "bodies"} array (with its moons), in file order. */
+        void body(JsonValue body);
+        /** Rough fraction of the bodies read so far, reported at most once per percent. */
+        default void progress(float fraction){}
+    }
+
+    private SystemStreamLoader(){}
+
+    /** {@code length} is the expected size in characters, used only for progress. */
+    public static void load(Source source, long length, Listener listener) throws IOException {
+        JsonValue header = new JsonValue(ValueType.object);
+        boolean hasBodies = false;
+        try (Reader in = source.open()){
+            JsonPullReader r = new JsonPullReader(in);
+            r.beginObject();
+            String key;
+            while ((key = r.nextKey()) != null){
+                if ("bodies".equals(key)){ hasBodies = true; r.skipValue(); }
+                else header.addChild(key, r.readValue());
+            }
+        }
+        listener.header(header);
+        if (hasBodies) try (Reader in = source.open()){
+            JsonPullReader r = new JsonPullReader(in);
+            r.beginObject();
+            String key;
+            while ((key = r.nextKey()) != null){
+                if (!"bodies".equals(key)){ r.skipValue(); continue; }
+                int lastPercent = -1;
+                r.beginArray();
+                while (r.hasNextElement()){
+                    listener.body(r.readValue());
+                    int percent = length > 0 ? (int)Math.min(100, r.position() * 100 / length) : 0;
+                    if (percent != lastPercent){ lastPercent = percent; listener.progress(percent / 100f); }
+                }
+            }
+        }
+        listener.progress(1f);
+    }
+}
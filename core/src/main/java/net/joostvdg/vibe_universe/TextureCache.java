@@ -0,0 +1,76 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Reference-counted procedural textures keyed by {@link TextureSpec} (which covers type, colours and size),
+ * so identical specs are generated and uploaded once and shared. Render thread only.
+ *
+ * Textures whose last reference is released stay resident until {@link #evictUnused}, which lets a
+ * system switch reuse what the next system also needs before the rest is freed.
+ */
+public class TextureCache implements Disposable {
+    private final class Entry implements TexturePipeline.Target {
+        final TextureSpec spec;
+        Texture texture;                                            // null while generating
+        int refs;
+        final Array<TexturePipeline.Target> waiters = new Array<>(false, 4);
+        Entry(TextureSpec spec){ this.spec=spec; }
+
+        @Override public void onTexture(Texture t){
+            if (entries.get(spec)!=this){ t.dispose(); return; }    // dropped while in flight
+            texture=t;
+            for (TexturePipeline.Target w:waiters) w.onTexture(t);
+            waiters.clear();
+        }
+    }
+
+    private final TexturePipeline pipeline;
+    private final ObjectMap<TextureSpec, Entry> entries = new ObjectMap<>();
+
+    public TextureCache(TexturePipeline pipeline){ this.pipeline=pipeline; }
+
+    /**
+     * Takes a reference on {@code spec}'s texture. {@code target} is called with it right away when it is
+     * resident, otherwise once generation finishes (unless released first).
+     */
+    public void acquire(TextureSpec spec, TexturePipeline.Target target){
+        Entry e=entries.get(spec);
+        if (e==null){
+            e=new Entry(spec); entries.put(spec, e);
+            pipeline.request(spec, e);
+        }
+        e.refs++;
+        if (e.texture!=null) target.onTexture(e.texture);
+        else e.waiters.add(target);
+    }
+
+    /** Drops a reference taken by {@link #acquire}; {@code target} will no longer be called. */
+    public void release(TextureSpec spec, TexturePipeline.Target target){
+        Entry e=entries.get(spec);
+        if (e==null) return;
+        e.waiters.removeValue(target, true);
+        if (e.refs>0) e.refs--;
+    }
+
+    /** Disposes every unreferenced texture and forgets unreferenced requests still being generated. */
+    public void evictUnused(){
+        for (ObjectMap.Entries<TextureSpec, Entry> it=entries.entries(); it.hasNext();){
+            Entry e=it.next().value;
+            if (e.refs>0) continue;
+            if (e.texture!=null) e.texture.dispose();
+            it.remove();
+        }
+    }
+
+    /** Number of distinct textures resident or in flight. */
+    public int size(){ return entries.size; }
+
+    @Override public void dispose(){
+        for (Entry e:entries.values()) if (e.texture!=null) e.texture.dispose();
+        entries.clear();
+    }
+}
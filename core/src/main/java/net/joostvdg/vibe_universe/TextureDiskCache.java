@@ -0,0 +1,80 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.zip.Deflater;
+
+/**
+ * Generated textures persisted as PNGs, so each spec is rasterized once per machine rather than once per launch.
+ * Files are named by {@link TextureSpec#key()}, size and {@link ProceduralTextures#GENERATOR_VERSION}; a file that
+ * fails to decode or has the wrong size is deleted and regenerated. When the directory grows past its cap the
+ * least recently used files go first. Safe to call from the texture workers.
+ */
+public class TextureDiskCache {
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private final FileHandle dir;
+    private final long maxBytes;
+    private long totalBytes;
+
+    public TextureDiskCache(FileHandle dir, long maxBytes){
+        this.dir = dir; this.maxBytes = maxBytes;
+        dir.mkdirs();
+        for (FileHandle f : dir.list(".png")) totalBytes += f.length();
+    }
+
+    /** The cached pixmap for {@code spec}, or {@code null} when there is no valid copy. */
+    public Pixmap load(TextureSpec spec){
+        FileHandle f = file(spec);
+        if (!f.exists()) return null;
+        try {
+            Pixmap pm = new Pixmap(f);
+            if (pm.getWidth()==spec.width && pm.getHeight()==spec.height && pm.getFormat()==Pixmap.Format.RGBA8888){
+                f.file().setLastModified(System.currentTimeMillis());
+                return pm;
+            }
+            pm.dispose();
+        } catch (Exception ex) {
+            Gdx.app.error("Vibe", "Discarding unreadable cached texture " + f.name(), ex);
+        }
+        synchronized (this){ totalBytes -= f.length(); f.delete(); }
+        return null;
+    }
+
+    /** Writes {@code pm} for {@code spec}; failures are logged and otherwise ignored (the cache is only an optimization). */
+    public void store(TextureSpec spec, Pixmap pm){
+        FileHandle f = file(spec);
+        FileHandle tmp = dir.child(f.name() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            PixmapIO.writePNG(tmp, pm, Deflater.BEST_SPEED, false);
+            synchronized (this){
+                if (f.exists()) totalBytes -= f.length();
+                tmp.moveTo(f);
+                totalBytes += f.length();
+                if (totalBytes > maxBytes) trim();
+            }
+        } catch (Exception ex) {
+            tmp.delete();
+            Gdx.app.error("Vibe", "Could not cache texture " + f.name(), ex);
+        }
+    }
+
+    private void trim(){
+        Array<FileHandle> files = new Array<>(dir.list(".png"));
+        files.sort((a,b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (int i=0; i<files.size && totalBytes > maxBytes; i++){
+            FileHandle f = files.get(i);
+            totalBytes -= f.length();
+            f.delete();
+        }
+    }
+
+    private FileHandle file(TextureSpec spec){
+        return dir.child(String.format("%s-%dx%d-%016x-v%d.png", spec.type.name().toLowerCase(), spec.width, spec.height,
+                spec.key(), ProceduralTextures.GENERATOR_VERSION));
+    }
+}
@@ -0,0 +1,103 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates procedural textures off the GL thread. Pixmaps are built on a small daemon worker pool;
+ * the render thread turns finished ones into {@link Texture}s in {@link #uploadPending}, spending at
+ * most a fixed time budget per frame. With a {@link TextureDiskCache} the workers load earlier results
+ * from disk and only generate (and store) what is missing.
+ */
+public class TexturePipeline implements Disposable {
+    /** Receives the uploaded texture on the render thread. */
+    public interface Target { void onTexture(Texture texture); }
+
+    private static final class Ready {
+        final Pixmap pixmap; final Target target;
+        Ready(Pixmap pixmap, Target target){ this.pixmap=pixmap; this.target=target; }
+    }
+
+    private final ExecutorService workers;
+    private final TextureDiskCache disk;   // may be null
+    private final ConcurrentLinkedQueue<Ready> ready = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<TextureSpec, Pixmap> offered = new ConcurrentHashMap<>();
+
+    public TexturePipeline(){ this(null); }
+
+    public TexturePipeline(TextureDiskCache disk){
+        this.disk = disk;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger n = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "vibe-texgen-" + n.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+    }
+
+    /** Queues {@code spec} for generation; {@code target} is called on the render thread once it is uploaded. */
+    public void request(TextureSpec spec, Target target){
+        Pixmap made = offered.remove(spec);
+        if (made != null){ ready.add(new Ready(made, target)); return; }
+        workers.execute(() -> {
+            try {
+                ready.add(new Ready(produce(spec), target));
+            } catch (Throwable t) {
+                Gdx.app.error("Vibe", "Texture generation failed for " + spec, t);
+            }
+        });
+    }
+
+    /** Pixmap for {@code spec} from the disk cache, or freshly generated (and stored). Any thread; the caller owns the result. */
+    Pixmap produce(TextureSpec spec){
+        Pixmap pm = disk != null ? disk.load(spec) : null;
+        if (pm == null){
+            pm = spec.generate();
+            if (disk != null) disk.store(spec, pm);
+        }
+        return pm;
+    }
+
+    /** Hands over a pixmap generated ahead of time; the next {@link #request} for {@code spec} uses it instead of a worker. */
+    public void offer(TextureSpec spec, Pixmap pixmap){
+        Pixmap old = offered.put(spec, pixmap);
+        if (old != null && old != pixmap) old.dispose();
+    }
+
+    /** Disposes offered pixmaps nobody requested. */
+    public void dropOffers(){
+        for (TextureSpec spec : offered.keySet()){ Pixmap pm = offered.remove(spec); if (pm != null) pm.dispose(); }
+    }
+
+    /** Uploads finished pixmaps until {@code budgetNanos} is spent (always at least one, so progress is guaranteed). */
+    public void uploadPending(long budgetNanos){
+        long start = TimeUtils.nanoTime();
+        Ready r;
+        while ((r = ready.poll()) != null){
+            Texture tx = new Texture(r.pixmap);
+            tx.setFilter(TextureFilter.Linear, TextureFilter.Linear);
+            r.pixmap.dispose();
+            r.target.onTexture(tx);
+            if (TimeUtils.nanoTime() - start >= budgetNanos) break;
+        }
+    }
+
+    @Override public void dispose(){
+        workers.shutdownNow();
+        Ready r;
+        while ((r = ready.poll()) != null) r.pixmap.dispose();
+        dropOffers();
+    }
+}
@@ -0,0 +1,123 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.util.Arrays;
+
+/**
+ * Immutable description of a procedural body texture (the JSON {@code "texture"} block plus its size).
+ * Two equal specs always generate identical pixels: speckle placement is seeded from the spec itself.
+ */
+public final class TextureSpec {
+    public enum Type { SPECKLE, BANDED }
+
+    public final Type type;
+    public final int width, height;
+    // SPECKLE
+    final float[] colorA, colorB;   // rgb
+    final float density;
+    // BANDED
+    final float[][] bands;          // rgb per band, pole to pole
+    final float jitter;
+
+    private final int hash;
+    private final long key;
+
+    private TextureSpec(Type type, int width, int height, float[] colorA, float[] colorB, float density, float[][] bands, float jitter){
+        this.type=type; this.width=width; this.height=height;
+        this.colorA=colorA; this.colorB=colorB; this.density=density;
+        this.bands=bands; this.jitter=jitter;
+        int h = type.ordinal();
+        h = 31*h + width; h = 31*h + height;
+        h = 31*h + Arrays.hashCode(colorA); h = 31*h + Arrays.hashCode(colorB); h = 31*h + Float.floatToIntBits(density);
+        h = 31*h + Arrays.deepHashCode(bands); h = 31*h + Float.floatToIntBits(jitter);
+        this.hash = h;
+        this.key = fnv64();
+    }
+
+    public static TextureSpec speckle(int w, int h, float[] colorA, float[] colorB, float density){
+        return new TextureSpec(Type.SPECKLE, w, h, rgb(colorA), rgb(colorB), density, null, 0f);
+    }
+
+    public static TextureSpec banded(int w, int h, float[][] bands, float jitter){
+        float[][] copy = new float[bands.length][];
+        for (int i=0;i<bands.length;i++) copy[i] = rgb(bands[i]);
+        return new TextureSpec(Type.BANDED, w, h, null, null, 0f, copy, jitter);
+    }
+
+    /** Reads a JSON texture block; {@code null} when there is nothing to draw (no block, or banded without bands). */
+    public static TextureSpec fromJson(JsonValue node, int w, int h){
+        if (node==null) return null;
+        if ("banded".equals(node.getString("type","speckle"))){
+            JsonValue arr=node.get("bands");
+            if (arr==null || arr.size==0) return null;
+            float[][] bands=new float[arr.size][]; int i=0;
+            for (JsonValue c:arr) bands[i++]=new float[]{c.getFloat(0),c.getFloat(1),c.getFloat(2)};
+            return banded(w, h, bands, node.getFloat("jitter",0.06f));
+        }
+        return speckle(w, h,
+                jsonRgb(node.get("colorA"), new float[]{0.8f,0.8f,0.85f}),
+                jsonRgb(node.get("colorB"), new float[]{0.7f,0.7f,0.75f}),
+                node.getFloat("density",0.002f));
+    }
+
+    /** CPU-generates the texture. Safe to call from any thread; the caller owns the pixmap. */
+    public Pixmap generate(){
+        if (type==Type.BANDED){
+            Color[] c=new Color[bands.length];
+            for (int i=0;i<bands.length;i++) c[i]=new Color(bands[i][0],bands[i][1],bands[i][2],1f);
+            return ProceduralTextures.banded(width, height, c, jitter);
+        }
+        return ProceduralTextures.speckle(width, height,
+                new Color(colorA[0],colorA[1],colorA[2],1f), new Color(colorB[0],colorB[1],colorB[2],1f), density, hash);
+    }
+
+    /** Average look of the texture, used as a flat placeholder until the real one is uploaded. */
+    public Color flatColor(Color out){
+        if (type==Type.BANDED){
+            float r=0,g=0,b=0;
+            for (float[] c:bands){ r+=c[0]; g+=c[1]; b+=c[2]; }
+            return out.set(r/bands.length, g/bands.length, b/bands.length, 1f);
+        }
+        return out.set(colorA[0], colorA[1], colorA[2], 1f);
+    }
+
+    @Override public boolean equals(Object o){
+        if (this==o) return true;
+        if (!(o instanceof TextureSpec)) return false;
+        TextureSpec s=(TextureSpec)o;
+        return hash==s.hash && type==s.type && width==s.width && height==s.height
+                && Arrays.equals(colorA,s.colorA) && Arrays.equals(colorB,s.colorB)
+                && Float.floatToIntBits(density)==Float.floatToIntBits(s.density)
+                && Arrays.deepEquals(bands,s.bands)
+                && Float.floatToIntBits(jitter)==Float.floatToIntBits(s.jitter);
+    }
+    @Override public int hashCode(){ return hash; }
+
+    /** 64-bit digest of every field; unlike {@link #hashCode} it is meant to name files, so it must stay stable across runs. */
+    public long key(){ return key; }
+
+    private long fnv64(){
+        long k = 0xcbf29ce484222325L;
+        k = mix(k, type.ordinal()); k = mix(k, width); k = mix(k, height);
+        if (colorA!=null) for (float f:colorA) k = mix(k, Float.floatToIntBits(f));
+        if (colorB!=null) for (float f:colorB) k = mix(k, Float.floatToIntBits(f));
+        k = mix(k, Float.floatToIntBits(density));
+        if (bands!=null){ k = mix(k, bands.length); for (float[] b:bands) for (float f:b) k = mix(k, Float.floatToIntBits(f)); }
+        return mix(k, Float.floatToIntBits(jitter));
+    }
+    private static long mix(long k, int v){
+        for (int i=0;i<4;i++){ k ^= (v >>> (i*8)) & 0xff; k *= 0x100000001b3L; }
+        return k;
+    }
+
+    @Override public String toString(){ return type+" "+width+"x"+height; }
+
+    private static float[] rgb(float[] c){ return new float[]{c[0],c[1],c[2]}; }
+    private static float[] jsonRgb(JsonValue v, float[] def){
+        if (v==null || v.size<3) return def;
+        return new float[]{v.getFloat(0),v.getFloat(1),v.getFloat(2)};
+    }
+}
@@ -1,15 +1,327 @@
 package net.joostvdg.vibe_universe;
 
-import com.badlogic.gdx.ApplicationAdapter;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.IntArray;
 
-public class UniverseSim extends ApplicationAdapter {
-    @Override
-    public void render() {
-        Gdx.gl.glClearColor(0.05f, 0.05f, 0.08f, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
-        // TODO: render solar system
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.CountedCompleter;
+
+/**
+ * Headless orbit engine. All orbital state lives in packed primitive arrays (structure-of-arrays),
+ * one slot per body, so a whole system is propagated in a single tight loop without per-body objects
+ * and without needing a GL context.
+ *
+ * Bodies are addressed by the index returned from {@link #add}. A body may orbit another body
+ * (a moon around its planet); bodies must be added in order of parent depth (all planets, then all
+ * moons), so each depth level is one contiguous index range and one forward pass always sees the
+ * parent's position for the current step.
+ *
+ * Large systems are propagated in parallel: each level is split into chunks on a {@link ForkJoinPool},
+ * levels run one after the other. Every body's result depends only on its own elements and its
+ * parent, so the parallel path is bit-identical to the serial one. Below {@link #PARALLEL_THRESHOLD}
+ * bodies (or with {@code -Dvibe.parallel=false}) everything stays on the calling thread.
+ *
+ * Time is a {@code double} day count split into an epoch plus a small offset: each body keeps its
+ * orbital (and spin) phase at the epoch in revolutions, so the phase at any time is one multiply-add
+ * and a {@code floor}. When the offset grows past {@link #REBASE_DAYS} the epoch is moved forward,
+ * which keeps precision constant however long the sim has been running.
+ *
+ * With an {@link EphemerisCache} attached ({@link #setEphemeris}), positions inside a fitted window are read from
+ * its Chebyshev coefficients instead of solving Kepler's equation; the cache fits unit-size orbits, so
+ * {@link #setSemiMajorAxis} doesn't invalidate it. Outside a ready window, and for bodies too fast to fit, the
+ * solve runs as before.
+ */
+public class UniverseSim {
+    public static final int NO_PARENT = -1;
+    public static final int PARALLEL_THRESHOLD = 8192;
+    private static final int CHUNK = 2048;
+    static final double REBASE_DAYS = 36525.0; // one century
+
+    private int count;
+    private int[] depth;
+    private final IntArray levelStart = new IntArray();  // first index of each depth level
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private RangeTask[] levelTasks;   // per-level task trees, built on first parallel update and reused every frame
+    private double taskDays;
+    private boolean parallel = Boolean.parseBoolean(System.getProperty("vibe.parallel", "true"));
+    private int structure;                        // bumped by add()/clear(); the ephemeris refits when it changes
+
+    private EphemerisCache ephemeris;
+    private EphemerisCache.Window window;         // this update's fitted window, null: solve
+    private int ephemerisStructure = -1;
+
+    // -------- Elements (world units / days / radians) --------
+    private float[] a, e, spinPeriod;
+    private int[] parent;
+
+    // -------- Per-body constants, derived once in add() --------
+    private float[] sinI, cosI, bFactor;          // sin/cos(inclination), sqrt(1-e²)
+    private float[] sinW, cosW;                   // orbit orientation about the ecliptic normal
+    private double[] revPerDay, spinRevPerDay;    // 1/period, 1/spinPeriod (0 if no spin)
+
+    // -------- Time base --------
+    private double epochDays;
+    private double[] phase0, spinPhase0;          // revolutions at epochDays, in [0,1)
+
+    // -------- Outputs --------
+    private float[] x, y, z, spin;
+
+    // -------- Scratch (mean / eccentric anomaly per body, for the batch Kepler solve) --------
+    private float[] mean, eccAnom;
+
+    public UniverseSim(){ this(64); }
+
+    public UniverseSim(int capacity){
+        capacity = Math.max(1, capacity);
+        a=new float[capacity]; e=new float[capacity]; spinPeriod=new float[capacity];
+        parent=new int[capacity]; depth=new int[capacity];
+        sinI=new float[capacity]; cosI=new float[capacity]; bFactor=new float[capacity];
+        sinW=new float[capacity]; cosW=new float[capacity];
+        revPerDay=new double[capacity]; spinRevPerDay=new double[capacity];
+        phase0=new double[capacity]; spinPhase0=new double[capacity];
+        x=new float[capacity]; y=new float[capacity]; z=new float[capacity]; spin=new float[capacity];
+        mean=new float[capacity]; eccAnom=new float[capacity];
+    }
+
+    public int count(){ return count; }
+
+    public void clear(){ count=0; levelStart.clear(); epochDays=0.0; levelTasks=null; structure++; }
+
+    public void setParallel(boolean parallel){ this.parallel=parallel; }
+    public boolean isParallel(){ return parallel; }
+    public void setPool(ForkJoinPool pool){ this.pool=pool; }
+    /** Reads positions from {@code cache} where it has them (null: always solve). The cache isn't owned by the sim. */
+    public void setEphemeris(EphemerisCache cache){ ephemeris=cache; ephemerisStructure=-1; window=null; }
+
+    /**
+     * Adds a body and returns its index.
+     *
+     * @param aWorld semi-major axis in world units (distance scale / compression already applied)
+     * @param parentIndex index of the body this one orbits, or {@link #NO_PARENT} for the star
+     */
+    public int add(float aWorld, float ecc, float periodDays, float inclinationDeg, float spinPeriodDays, int parentIndex){
+        return add(aWorld, ecc, periodDays, inclinationDeg, spinPeriodDays, parentIndex, 0f, 0f);
+    }
+
+    /**
+     * Adds a body with its periapsis rotated by {@code longitudeDeg} about the ecliptic normal and
+     * starting {@code phaseRev} revolutions along its orbit at day 0 (used to scatter belt particles).
+     */
+    public int add(float aWorld, float ecc, float periodDays, float inclinationDeg, float spinPeriodDays, int parentIndex,
+                   float longitudeDeg, float phaseRev){
+        if (parentIndex != NO_PARENT && (parentIndex < 0 || parentIndex >= count))
+            throw new IllegalArgumentException("Parent " + parentIndex + " must be added before its children");
+        int d = parentIndex == NO_PARENT ? 0 : depth[parentIndex] + 1;
+        if (count > 0 && d < depth[count-1])
+            throw new IllegalArgumentException("Bodies must be added in parent-depth order (all planets before any moon)");
+        if (count == 0 || d > depth[count-1]) levelStart.add(count);
+        if (count == a.length) grow(count * 2);
+        int i = count++;
+        levelTasks=null; structure++;
+        depth[i]=d;
+        a[i]=aWorld; e[i]=ecc; spinPeriod[i]=spinPeriodDays; parent[i]=parentIndex;
+        double inc = inclinationDeg * (Math.PI/180.0);
+        sinI[i]=(float)Math.sin(inc); cosI[i]=(float)Math.cos(inc); bFactor[i]=(float)Math.sqrt(1.0-ecc*ecc);
+        double lon = longitudeDeg * (Math.PI/180.0);
+        sinW[i]=(float)Math.sin(lon); cosW[i]=(float)Math.cos(lon);
+        revPerDay[i]=1.0/periodDays; spinRevPerDay[i]= spinPeriodDays!=0f ? 1.0/spinPeriodDays : 0.0;
+        // phase 0 at day 0, carried forward to the current epoch
+        phase0[i]=frac(phaseRev - epochDays*revPerDay[i]); spinPhase0[i]=frac(-epochDays*spinRevPerDay[i]);
+        x[i]=0f; y[i]=0f; z[i]=0f; spin[i]=0f;
+        return i;
+    }
+
+    /** Orbit sizes change with distance compression and moon clearance; everything else is fixed per load. */
+    public void setSemiMajorAxis(int i, float aWorld){ a[i]=aWorld; }
+
+    // -------- Propagation --------
+    /** Solves Kepler's equation for every body at {@code days} and writes world positions (parents first). */
+    public void update(double days){
+        if (Math.abs(days-epochDays) > REBASE_DAYS) rebase(days);
+        if (ephemeris != null){
+            if (ephemerisStructure != structure){ ephemeris.reset(new KeplerSource(this)); ephemerisStructure = structure; }
+            window = ephemeris.window(days);
+        }
+        if (!parallel || count < PARALLEL_THRESHOLD || pool.getParallelism() < 2){
+            updateRange(days, 0, count);
+            return;
+        }
+        if (levelTasks == null) buildLevelTasks();
+        taskDays = days;
+        for (int l=0;l<levelStart.size;l++){
+            RangeTask root = levelTasks[l];
+            if (root == null){ updateRange(days, levelStart.get(l), levelEnd(l)); continue; }
+            root.reinitialize();
+            pool.execute(root);
+            awaitQuietly(root);
+        }
+    }
+
+    /**
+     * Waits for {@code task} without {@code join()}: an external thread blocking on a fork-join task enqueues a
+     * waiter node every time (~24 bytes per frame on the render thread). A level takes about a millisecond, so spin,
+     * then yield.
+     */
+    private static void awaitQuietly(RangeTask task){
+        for (int spins=0; !task.isDone(); spins++){
+            if (spins < 2048) Thread.onSpinWait(); else Thread.yield();
+        }
+        if (task.isCompletedAbnormally()) task.join(); // rethrows the worker's exception
+    }
+
+    private int levelEnd(int l){ return (l+1<levelStart.size) ? levelStart.get(l+1) : count; }
+
+    private void buildLevelTasks(){
+        levelTasks = new RangeTask[levelStart.size];
+        for (int l=0;l<levelStart.size;l++){
+            int from=levelStart.get(l), to=levelEnd(l);
+            if (to-from >= PARALLEL_THRESHOLD) levelTasks[l] = new RangeTask(null, from, to);
+        }
+    }
+
+    private void updateRange(double days, int from, int to){
+        if (window != null){ evaluateRange(window, days, from, to); return; }
+        double dt = days - epochDays;
+        for (int i=from;i<to;i++) mean[i]=meanAnomaly(phase0[i], revPerDay[i], dt);
+        KeplerBatch.solve(mean, e, eccAnom, from, to);
+        for (int i=from;i<to;i++) place(i, eccAnom[i]);
+    }
+
+    /** Cached bodies from {@code w}'s coefficients, the rest solved one by one (same arithmetic as the batch). */
+    private void evaluateRange(EphemerisCache.Window w, double days, int from, int to){
+        double dt = days - epochDays;
+        for (int i=from;i<to;i++){
+            if (!w.evaluate(i, days, a[i], x, y, z)){ place(i, KeplerBatch.solve(meanAnomaly(phase0[i], revPerDay[i], dt), e[i])); continue; }
+            int p=parent[i];
+            if (p!=NO_PARENT){ x[i]+=x[p]; y[i]+=y[p]; z[i]+=z[p]; }
+        }
+    }
+
+    /** Mean anomaly wrapped to [-π, π) without atan2. */
+    private static float meanAnomaly(double phase0, double revPerDay, double dt){
+        double rev = phase0 + dt*revPerDay;
+        rev -= Math.floor(rev);
+        if (rev >= 0.5) rev -= 1.0;
+        return (float)(rev*(Math.PI*2));
+    }
+
+    private void place(int i, float E){
+        float ecc=e[i];
+        float ai=a[i], b=ai*bFactor[i];
+        float z0=b*KeplerBatch.sin(E);
+        float ox=ai*(KeplerBatch.cos(E)-ecc), oz=z0*cosI[i];
+        float px=ox*cosW[i]-oz*sinW[i], py=z0*sinI[i], pz=ox*sinW[i]+oz*cosW[i];
+        int p=parent[i];
+        if (p!=NO_PARENT){ px+=x[p]; py+=y[p]; pz+=z[p]; }
+        x[i]=px; y[i]=py; z[i]=pz;
+    }
+
+    /**
+     * The ephemeris's view of the sim: a copy of the elements at one point (so the worker never sees a reload in
+     * progress), placing each body on its unit-size orbit relative to its parent.
+     */
+    private static final class KeplerSource implements EphemerisCache.Source {
+        private final int count;
+        private final float[] e, sinI, cosI, bFactor, sinW, cosW;
+        private final double[] revPerDay, phase0;
+        private final double epochDays;
+        private final float[] mean, ecc, eccAnom;   // worker scratch, gathered per sample() call
+
+        KeplerSource(UniverseSim sim){
+            count=sim.count;
+            e=Arrays.copyOf(sim.e,count); sinI=Arrays.copyOf(sim.sinI,count); cosI=Arrays.copyOf(sim.cosI,count);
+            bFactor=Arrays.copyOf(sim.bFactor,count); sinW=Arrays.copyOf(sim.sinW,count); cosW=Arrays.copyOf(sim.cosW,count);
+            revPerDay=Arrays.copyOf(sim.revPerDay,count); phase0=Arrays.copyOf(sim.phase0,count);
+            epochDays=sim.epochDays;
+            mean=new float[count]; ecc=new float[count]; eccAnom=new float[count];
+        }
+
+        @Override public int count(){ return count; }
+        @Override public double period(int i){ return 1.0/revPerDay[i]; }
+
+        @Override public void sample(double days, int[] bodies, int n, float[] x, float[] y, float[] z, int at){
+            double dt = days - epochDays;
+            for (int k=0;k<n;k++){ int i=bodies[k]; mean[k]=meanAnomaly(phase0[i], revPerDay[i], dt); ecc[k]=e[i]; }
+            KeplerBatch.solve(mean, ecc, eccAnom, 0, n);
+            for (int k=0;k<n;k++){
+                int i=bodies[k];
+                float E=eccAnom[k], z0=bFactor[i]*KeplerBatch.sin(E);
+                float ox=KeplerBatch.cos(E)-e[i], oz=z0*cosI[i];
+                x[at+k]=ox*cosW[i]-oz*sinW[i]; y[at+k]=z0*sinI[i]; z[at+k]=ox*sinW[i]+oz*cosW[i];
+            }
+        }
+    }
+
+    /**
+     * A fixed split of {@code [from,to)} into CHUNK-sized leaves, reinitialized and re-run each frame so nothing is
+     * allocated per update. Completion propagates up through pending counts instead of joins, so no worker ever
+     * blocks (a blocked join allocates a waiter node).
+     */
+    private final class RangeTask extends CountedCompleter<Void> {
+        final int from, to;
+        final RangeTask left, right;
+        RangeTask(RangeTask parent, int from, int to){
+            super(parent);
+            this.from=from; this.to=to;
+            int mid = (from+to) >>> 1;
+            left = to-from <= CHUNK ? null : new RangeTask(this, from, mid);
+            right = left == null ? null : new RangeTask(this, mid, to);
+        }
+        @Override public void compute(){
+            if (left == null){ updateRange(taskDays, from, to); tryComplete(); return; }
+            left.reinitialize(); right.reinitialize();
+            setPendingCount(1);
+            right.fork();
+            left.compute();
+        }
+    }
+
+    /** REALISTIC spin: rotation angle tied to sim time. */
+    public void updateSpinRealistic(double days){
+        if (Math.abs(days-epochDays) > REBASE_DAYS) rebase(days);
+        double dt = days - epochDays;
+        for (int i=0;i<count;i++) spin[i] = (float)(frac(spinPhase0[i] + dt*spinRevPerDay[i]) * 360.0);
+    }
+
+    /** Moves the epoch to {@code days}, folding the elapsed revolutions into each body's phase. */
+    private void rebase(double days){
+        double dt = days - epochDays;
+        for (int i=0;i<count;i++){
+            phase0[i]=frac(phase0[i] + dt*revPerDay[i]);
+            spinPhase0[i]=frac(spinPhase0[i] + dt*spinRevPerDay[i]);
+        }
+        epochDays = days;
     }
-}
 
+    private static double frac(double v){ return v - Math.floor(v); }
+
+    /** SMOOTH spin: advances by real time, {@code secondsPerDay} seconds per day of rotation period. */
+    public void updateSpinSmooth(float dtSeconds, float secondsPerDay){
+        for (int i=0;i<count;i++){
+            if (spinPeriod[i]==0f){ spin[i]=0f; continue; }
+            float omegaDegPerSec = 360f / (secondsPerDay * spinPeriod[i]);
+            spin[i] = (spin[i] + omegaDegPerSec*dtSeconds) % 360f;
+        }
+    }
+
+    // -------- Readback --------
+    public float x(int i){ return x[i]; }
+    public float y(int i){ return y[i]; }
+    public float z(int i){ return z[i]; }
+    public float spinDeg(int i){ return spin[i]; }
+    public Vector3 position(int i, Vector3 out){ return out.set(x[i],y[i],z[i]); }
+
+    private void grow(int capacity){
+        a=Arrays.copyOf(a,capacity); e=Arrays.copyOf(e,capacity); spinPeriod=Arrays.copyOf(spinPeriod,capacity);
+        sinI=Arrays.copyOf(sinI,capacity); cosI=Arrays.copyOf(cosI,capacity); bFactor=Arrays.copyOf(bFactor,capacity);
+        sinW=Arrays.copyOf(sinW,capacity); cosW=Arrays.copyOf(cosW,capacity);
+        revPerDay=Arrays.copyOf(revPerDay,capacity); spinRevPerDay=Arrays.copyOf(spinRevPerDay,capacity);
+        phase0=Arrays.copyOf(phase0,capacity); spinPhase0=Arrays.copyOf(spinPhase0,capacity);
+        parent=Arrays.copyOf(parent,capacity); depth=Arrays.copyOf(depth,capacity);
+        x=Arrays.copyOf(x,capacity); y=Arrays.copyOf(y,capacity); z=Arrays.copyOf(z,capacity);
+        spin=Arrays.copyOf(spin,capacity);
+        mean=Arrays.copyOf(mean,capacity); eccAnom=Arrays.copyOf(eccAnom,capacity);
+    }
+}
@@ -0,0 +1,67 @@
+package net.joostvdg.vibe_universe;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static net.joostvdg.vibe_universe.KeplerBatch.*;
+
+/**
+ * SIMD lanes for {@link KeplerBatch}. Only loaded once KeplerBatch has confirmed the incubator module
+ * is resolved; every operation mirrors the scalar code in KeplerBatch step for step.
+ */
+final class VectorKepler {
+    private static final VectorSpecies<Float> S = FloatVector.SPECIES_PREFERRED;
+
+    private VectorKepler(){}
+
+    static int lanes(){ return S.length(); }
+
+    /**
+     * Whole vectors only, the remainder goes through the scalar solver (bit-identical by construction). The initial
+     * guess and each Newton step are separate methods that take arrays, not vectors: with everything in one method
+     * C2 hits its inlining node cutoff, leaves sin/cos as real calls and boxes every FloatVector (~80 bytes per body
+     * per solve); at this size each method is fully intrinsified and the solve allocates nothing.
+     */
+    static void solve(float[] M, float[] e, float[] E, int from, int to){
+        int i=from, bound=from+S.loopBound(to-from);
+        for (;i<bound;i+=S.length()){
+            guess(M, e, E, i);
+            for (int k=0;k<MAX_ITER;k++) if (!step(M, e, E, i)) break;
+        }
+        KeplerBatch.solveScalar(M, e, E, i, to);
+    }
+
+    private static void guess(float[] M, float[] e, float[] E, int i){
+        FloatVector m  = FloatVector.fromArray(S, M, i);
+        FloatVector ec = FloatVector.fromArray(S, e, i);
+        m.add(ec.mul(sin(m)).mul(ec.mul(cos(m)).add(1f))).intoArray(E, i);
+    }
+
+    /** One Newton iteration over lanes {@code [i, i+lanes)}; false once every lane has converged. */
+    private static boolean step(float[] M, float[] e, float[] E, int i){
+        FloatVector m  = FloatVector.fromArray(S, M, i);
+        FloatVector ec = FloatVector.fromArray(S, e, i);
+        FloatVector ea = FloatVector.fromArray(S, E, i);
+        FloatVector f  = ea.sub(ec.mul(sin(ea))).sub(m);
+        FloatVector fp = FloatVector.broadcast(S, 1f).sub(ec.mul(cos(ea)));
+        FloatVector d  = f.div(fp);
+        // lanes that have converged stop moving
+        VectorMask<Float> active = d.abs().compare(VectorOperators.GE, TOL);
+        if (!active.anyTrue()) return false;
+        ea.sub(d, active).intoArray(E, i);
+        return true;
+    }
+
+    private static FloatVector sin(FloatVector x){
+        x = x.sub(PI2, x.compare(VectorOperators.GT,  PI));
+        x = x.add(PI2, x.compare(VectorOperators.LT, -PI));
+        x = x.blend(FloatVector.broadcast(S,  PI).sub(x), x.compare(VectorOperators.GT,  HALF_PI));
+        x = x.blend(FloatVector.broadcast(S, -PI).sub(x), x.compare(VectorOperators.LT, -HALF_PI));
+        FloatVector x2 = x.mul(x);
+        FloatVector p = x2.mul(S11).add(S9).mul(x2).add(S7).mul(x2).add(S5).mul(x2).add(S3).mul(x2).add(1f);
+        return x.mul(p);
+    }
+    private static FloatVector cos(FloatVector x){ return sin(x.add(HALF_PI)); }
+}
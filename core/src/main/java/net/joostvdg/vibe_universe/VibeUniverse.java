@@ -1,5 +1,6 @@
 package net.joostvdg.vibe_universe;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
@@ -22,25 +23,24 @@ import com.badlogic.gdx.graphics.g3d.Material;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.ModelBatch;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
-import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
-import com.badlogic.gdx.graphics.g3d.attributes.FloatAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
 import com.badlogic.gdx.graphics.g3d.environment.PointLight;
 import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
-import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder;
 import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
-import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.ScreenUtils;
-import com.badlogic.gdx.utils.JsonReader;
-import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.IOException;
+import java.io.StringReader;
 
 public class VibeUniverse extends ApplicationAdapter {
 
@@ -50,14 +50,9 @@ public class VibeUniverse extends ApplicationAdapter {
 
     private enum SpinMode { SMOOTH, REALISTIC }
     private SpinMode spinMode = SpinMode.SMOOTH;
-    private static final float EARTH_DAY_DAYS = 0.99726968f; // sidereal-ish
-    private static final float EARTH_SMOOTH_SECONDS = 20f;
 
 
     // -------- Constants --------
-    private static final float AU_TO_WORLD = 12f;
-    private static final int ORBIT_SEGMENTS = 256;
-    private static final float MOON_CLEARANCE_GAP = 0.60f;
     private static final float TIME_INC = 2f;
 
     // -------- Cameras/UI --------
@@ -82,9 +77,16 @@ public class VibeUniverse extends ApplicationAdapter {
     private enum SimIcon { PAUSE, ORBITS, AXES, COMPRESS, LIGHT, MOON, SPIN }
 
     // -------- Models/Textures --------
-    private Model sunModel, planetModel, moonModel, saturnRingModel;
-    private ModelInstance sunInstance, saturnRingInstance;
-    private Texture txSun, txSunHalo, txSaturnRings;
+    private Model sunModel;
+    private SphereLods sphereLods;   // planet/moon meshes by projected size
+    private ModelInstance sunInstance;
+    private Texture txSun, txSunHalo;
+    private TexturePipeline texturePipeline;
+    private TextureCache textureCache;
+    // body surfaces: "shader" evaluates specs per fragment (no textures), "texture" rasterizes them on the CPU
+    private final boolean shaderSurfaces = !"texture".equals(System.getProperty("vibe.surfaces", "shader"));
+    private static final long TEXTURE_UPLOAD_BUDGET_NANOS = 4_000_000L; // per frame
+    private static final TextureSpec GENERIC_MOON_TEXTURE = TextureSpec.speckle(512,256, new float[]{0.8f,0.8f,0.85f}, new float[]{0.7f,0.7f,0.75f}, 0.0025f);
 
     // -------- Lighting --------
     private PointLight sunPoint;
@@ -103,56 +105,68 @@ public class VibeUniverse extends ApplicationAdapter {
     private final Vector3 camTarget = new Vector3();
     private float camDistance = 26f, camYawDeg = 0f, camPitchDeg = 20f;
     private float defaultCamDistance, defaultCamYawDeg, defaultCamPitchDeg;
+    private int cameraVersion = 0;   // bumped whenever the view changes
     private final Vector3 defaultCamTarget = new Vector3();
     private final Vector2 lastMouse = new Vector2();
     private boolean rightDragging = false, middleDragging = false;
 
     // -------- Sim flags --------
-    private float simTimeDays = 0f;
+    private double simTimeDays = 0.0;   // double: accumulating float days drifts at high time scales
     private float timeScaleDaysPerSec = 10f;
-    private boolean paused=false, drawOrbits=true, showAxes=true, compressDistances=false;
-    private float compressGamma = 0.6f;
+    private boolean paused=false, drawOrbits=true, showAxes=true;
 
     // -------- Bodies --------
     private final Array<Body> planets = new Array<>();
     private final Array<Moon> moons = new Array<>();
-    private Body saturnBody;
+    private final Array<Belt> belts = new Array<>();
+    private final UniverseSim sim = new UniverseSim();
+    private EphemerisCache ephemeris;   // fitted positions ahead of the playhead ({@code -Dvibe.ephemeris=false}: always solve)
+    private BeltRenderer beltRenderer;
+    private ImpostorRenderer impostorRenderer;
+    private RingRenderer ringRenderer;   // every planet's rings, from one shared mesh
+    private InstancedBodyRenderer instancedBodies;   // GL30 + shader surfaces; null: bodies go through modelBatch
+    private BodyInstances bodyInstances;             // what instancedBodies draws, packed by the frame
+    private final ImpostorPoints impostorPoints = new ImpostorPoints();
+    // bodies smaller than this on screen (radius, px) are drawn as point sprites; 0 turns impostors off
+    private final float impostorThresholdPx = Float.parseFloat(System.getProperty("vibe.impostorPx", "2"));
+    private OrbitRenderer orbitRenderer;
+    private SimFrame<Body> frame;   // the frame's GL-free work; render() submits what it leaves behind
 
     // -------- Splash & Exo menu --------
     private Rectangle btnStatic=new Rectangle(), btnDynamic=new Rectangle(), btnExo=new Rectangle();
     private boolean hoveredStatic, hoveredDynamic, hoveredExo;
     private Array<Vector2> starfield = new Array<>(300);
 
-    private Array<ExoEntry> exoEntries = new Array<>();
+    private Array<ExoCatalog.Entry> exoEntries = new Array<>();
+    private final SceneBuilder sceneBuilder = new SceneBuilder();
     private int exoIndex=0;
+    private ExoPrefetcher exoPrefetcher;
     private Rectangle btnPrev=new Rectangle(), btnNext=new Rectangle(), btnLoad=new Rectangle();
     private Rectangle btnExoBack = new Rectangle();
     private boolean hoveredExoBack = false;
     private boolean hoveredPrev, hoveredNext, hoveredLoad;
 
     // -------- Data Feed --------
-    private static class PlanetInfo { final String name; final int index; final float periodDays; PlanetInfo(String n,int i,float p){name=n;index=i;periodDays=p;} }
-    private final Array<PlanetInfo> feed = new Array<>();
+    private HudLayer hud;   // retained: re-laid out only when the feed or viewport changes
+    private FrameProfiler profiler;   // F3 overlay, F4 CSV recording
 
     // -------- Temps --------
-    private final Vector3 tmpV3a=new Vector3(), tmpV3b=new Vector3();
-    private final Quaternion tmpQ=new Quaternion();
+    // the SIM frame must not allocate (benchmarks: FrameAllocationCheck); per-frame scratch lives here
+    private final Vector3 tmpV3a=new Vector3(), tmpV3b=new Vector3(), tmpV3c=new Vector3();
+    private final Matrix4 tmpM4=new Matrix4();
+    private static final SimIcon[] SIM_ICONS = SimIcon.values();
+    private static final Color SPLASH_TITLE=new Color(1f,0.95f,0.8f,1f), SPLASH_SUBTITLE=new Color(0.85f,0.88f,1f,1f), SPLASH_HINT=new Color(0.8f,0.85f,0.95f,1f);
+    private static final Color BTN_STATIC=new Color(0.15f,0.35f,0.65f,1f), BTN_STATIC_HOVER=new Color(0.20f,0.45f,0.80f,1f);
+    private static final Color BTN_DYNAMIC=new Color(0.18f,0.18f,0.18f,1f), BTN_DYNAMIC_HOVER=new Color(0.25f,0.25f,0.25f,1f);
+    private static final Color BTN_EXO=new Color(0.20f,0.40f,0.20f,1f), BTN_EXO_HOVER=new Color(0.28f,0.50f,0.28f,1f);
+    private static final Color EXO_WARNING=new Color(1f,0.8f,0.8f,1f);
 
     // ----- Model-wide scaling and realism toggles -----
-    private float modelDistanceScale = 1.0f;     // multiplies AU_TO_WORLD for orbits
-    private float planetSizeScale    = 1.0f;     // multiplies planet visual radii
-    private float moonExagScale      = 1.0f;     // multiplies moon EXAGGERATED radii
-    private float moonRealScale      = 1.0f;     // multiplies moon REALISTIC radii
-    private boolean truePlanetProportionsDefault = false;
-    private boolean trueMoonProportionsInRealisticDefault = false;
-
-    // live toggles (can be changed with a key)
-    private boolean truePlanetProportions = false;
-    private boolean trueMoonProportionsInRealistic = false;
+    private final SystemLayout sceneLayout = new SystemLayout();   // model scales, proportion and compression toggles
 
 
-    // -------- Hardcoded SOL config --------
-    private static final String SOL_MODEL_JSON = ""
+    // -------- Hardcoded SOL config (also a headless scenario) --------
+    static final String SOL_MODEL_JSON = ""
             + "{"
             + "  \"name\":\"Static Sol Simplified\","
             + "  \"description\":\"Our current simplified Solar System with textures, tilts, and moons.\","
@@ -179,7 +193,7 @@ public class VibeUniverse extends ApplicationAdapter {
             + "                {\"name\":\"Ganymede\",\"aAU\":0.007155,\"e\":0.0013,\"periodDays\":7.155,\"radiusKm\":2634,\"inclinationDeg\":0.2},"
             + "                {\"name\":\"Callisto\",\"aAU\":0.012585,\"e\":0.007,\"periodDays\":16.689,\"radiusKm\":2410,\"inclinationDeg\":0.28}]"
             + "    },"
-            + "    {\"type\":\"planet\",\"name\":\"Saturn\",\"index\":6,\"aAU\":9.5826,\"e\":0.0565,\"periodDays\":10759.22,\"radiusKm\":58232,\"inclinationDeg\":2.485,\"spinTiltDeg\":26.73,\"rotationDays\":0.4395,\"texture\":{\"type\":\"banded\",\"bands\":[[0.95,0.9,0.75],[0.92,0.86,0.7],[0.9,0.84,0.68],[0.92,0.86,0.7],[0.88,0.8,0.64],[0.92,0.86,0.7]],\"jitter\":0.06},"
+            + "    {\"type\":\"planet\",\"name\":\"Saturn\",\"index\":6,\"aAU\":9.5826,\"e\":0.0565,\"periodDays\":10759.22,\"radiusKm\":58232,\"inclinationDeg\":2.485,\"spinTiltDeg\":26.73,\"rotationDays\":0.4395,\"rings\":{\"inner\":2.5,\"outer\":4.0},\"texture\":{\"type\":\"banded\",\"bands\":[[0.95,0.9,0.75],[0.92,0.86,0.7],[0.9,0.84,0.68],[0.92,0.86,0.7],[0.88,0.8,0.64],[0.92,0.86,0.7]],\"jitter\":0.06},"
             + "      \"moons\":[{\"name\":\"Titan\",\"aAU\":0.008167,\"e\":0.0288,\"periodDays\":15.945,\"radiusKm\":2575,\"inclinationDeg\":0.35},"
             + "                {\"name\":\"Enceladus\",\"aAU\":0.001588,\"e\":0.0047,\"periodDays\":1.370,\"radiusKm\":252,\"inclinationDeg\":0.01}]"
             + "    },"
@@ -189,95 +203,50 @@ public class VibeUniverse extends ApplicationAdapter {
             + "}";
 
     // -------- Inner classes --------
-    private static class ExoEntry { String path,name,description; ExoEntry(String p,String n,String d){path=p;name=n;description=d;} }
 
-    private class Body {
+    /** A planet or moon: the GL-free {@link SceneBody} plus its model instance, orbit line and texture. */
+    private class Body extends SceneBody implements TexturePipeline.Target {
         final String name; final int index;
-        protected final float aAU,e,periodDays;
+        protected final float aAU,periodDays;
         final Color color;
         final float visualScale;
-        final float inclinationDeg, spinTiltDeg, spinPeriodDays;
+        final float inclinationDeg, spinPeriodDays;
         final ModelInstance instance;
-        final Array<Vector3> orbitPoints = new Array<>(ORBIT_SEGMENTS + 1);
-        final Vector3 position = new Vector3();
-        float spinAngleDeg = 0f;     // used in SMOOTH mode
+        final OrbitMesh orbit = new OrbitMesh(OrbitMesh.MAX_SEGMENTS);
+        boolean cachedTexture;       // holds a textureCache reference on surface (texture surfaces only)
 
         Body(String name,int index,float aAU,float e,float periodDays,Color color,Model shared,float visualRadius,float inc,float tilt,float spinDays){
-            this.name=name; this.index=index; this.aAU=aAU; this.e=e; this.periodDays=periodDays;
-            this.color=new Color(color); this.visualScale=visualRadius; this.inclinationDeg=inc; this.spinTiltDeg=tilt; this.spinPeriodDays=spinDays;
-            this.instance=new ModelInstance(shared);
+            this(null,name,index,aAU,e,periodDays,color,shared,visualRadius,inc,tilt,spinDays);
+        }
+        Body(SceneBody parent,String name,int index,float aAU,float e,float periodDays,Color color,Model shared,float visualRadius,float inc,float tilt,float spinDays){
+            super(parent, e, tilt, visualRadius);
+            this.name=name; this.index=index; this.aAU=aAU; this.periodDays=periodDays;
+            this.color=new Color(color); this.visualScale=visualRadius; this.inclinationDeg=inc; this.spinPeriodDays=spinDays;
+            this.instance=new ModelInstance(shared, transform);
             this.instance.transform.setToScaling(visualRadius,visualRadius,visualRadius);
             for (Material m:instance.materials) m.set(ColorAttribute.createDiffuse(Color.WHITE));
         }
         void initOrbit(){ rebuildOrbitPolyline(); }
         void rebuildOrbitPolyline(){
             float a=currentAWorld(), b=currentBWorld();
-            orbitPoints.clear();
-            float inc=inclinationDeg*MathUtils.degreesToRadians, cosI=MathUtils.cos(inc), sinI=MathUtils.sin(inc);
-            for (int i=0;i<=ORBIT_SEGMENTS;i++){
-                float t=i/(float)ORBIT_SEGMENTS, E=t*MathUtils.PI2;
-                float x=a*(MathUtils.cos(E)-e), z0=b*MathUtils.sin(E);
-                float y=z0*sinI, z=z0*cosI;
-                orbitPoints.add(new Vector3(x,y,z));
-            }
-        }
-        private float currentAWorld(){
-            float aAUeff = compressDistances ? (float)Math.pow(aAU, compressGamma) : aAU;
-            return aAUeff * AU_TO_WORLD * modelDistanceScale;
+            if (simIndex>=0) sim.setSemiMajorAxis(simIndex, a);
+            orbitA=a;
+            orbit.set(a, b, e, inclinationDeg, orbitSegments);
         }
+        private float currentAWorld(){ return sceneLayout.orbitAWorld(aAU); }
 
         private float currentBWorld(){ float a=currentAWorld(); return a*(float)Math.sqrt(1f-e*e); }
-        void updatePosition(float days){
-            float n=MathUtils.PI2/periodDays; float M=n*days; M=(float)Math.atan2(Math.sin(M),Math.cos(M));
-            float E=keplerSolve(M,e);
-            float a=currentAWorld(), b=currentBWorld();
-            float x=a*(MathUtils.cos(E)-e), z0=b*MathUtils.sin(E);
-            float inc=inclinationDeg*MathUtils.degreesToRadians;
-            float y=z0*MathUtils.sin(inc), z=z0*MathUtils.cos(inc);
-            position.set(x,y,z);
-//            float spin=(spinPeriodDays!=0f)? (days/spinPeriodDays)*360f:0f;
-            // ----- Spin -----
-            float spinDeg;
-            if (spinPeriodDays != 0f) {
-                if (spinMode == SpinMode.SMOOTH) {
-                    // Earth: 360° per 20s → others proportional to their rotationDays
-                    float secondsPerRotation = EARTH_SMOOTH_SECONDS * (spinPeriodDays / EARTH_DAY_DAYS);
-                    float omegaDegPerSec = 360f / secondsPerRotation;
-                    float dt = Gdx.graphics.getDeltaTime(); // real time
-                    spinAngleDeg = (spinAngleDeg + omegaDegPerSec * dt) % 360f;
-                    spinDeg = spinAngleDeg;
-                } else {
-                    // REALISTIC = tied to sim time (scales with timeScaleDaysPerSec)
-                    spinDeg = (days / spinPeriodDays) * 360f;
-                }
-            } else {
-                spinDeg = 0f;
-            }
-
-            instance.transform.idt();
-            instance.transform.setToScaling(visualScale,visualScale,visualScale);
-            instance.transform.rotate(Vector3.X, spinTiltDeg);
-            instance.transform.rotate(Vector3.Y, spinDeg);
-            instance.transform.setTranslation(position);
-        }
-        void drawOrbit(ShapeRenderer sr){
-            for (int i=0;i<orbitPoints.size-1;i++){
-                Vector3 a=orbitPoints.get(i), b=orbitPoints.get(i+1);
-                sr.line(a.x,a.y,a.z, b.x,b.y,b.z, color,color);
-            }
+        /** Called by textureCache once the surface texture is resident. */
+        @Override public void onTexture(Texture t){
+            for (Material m: instance.materials){ m.set(TextureAttribute.createDiffuse(t)); m.set(ColorAttribute.createDiffuse(Color.WHITE)); }
         }
-        protected float keplerSolve(float M,float e){
-            float E=M+e*MathUtils.sin(M)*(1f+e*MathUtils.cos(M));
-            for (int i=0;i<8;i++){
-                float f=E-e*MathUtils.sin(E)-M, fp=1f-e*MathUtils.cos(E);
-                float d=f/fp; E-=d; if (Math.abs(d)<1e-6f) break;
-            }
-            return E;
+        void dispose(){
+            orbit.dispose();
+            if (cachedTexture){ textureCache.release(surface, this); cachedTexture=false; }
         }
     }
 
     private class Moon extends Body {
-        final Body parent; boolean visible = true;
         final float exaggeratedScale, realisticScale;
 
         // Effective ellipse for the moon (after size/clearance adjustments)
@@ -290,9 +259,7 @@ public class VibeUniverse extends ApplicationAdapter {
              float aAU, float e, float periodDays,
              Color color, Model shared,
              float exScale, float realScale, float inc) {
-            // Body(String name,int index,float aAU,float e,float periodDays,Color color,Model shared,float visualRadius,float inc,float tilt,float spinDays){
-            super(name, 0, aAU, e, periodDays, color, shared, exScale, inc, 0f, periodDays);
-            this.parent = parent;
+            super(parent, name, 0, aAU, e, periodDays, color, shared, exScale, inc, 0f, periodDays);
             this.exaggeratedScale = exScale;
             this.realisticScale   = realScale;
             this.ecc = e; // store locally
@@ -303,106 +270,38 @@ public class VibeUniverse extends ApplicationAdapter {
 
         void setScaleAndRecompute(float scale) {
             // preserve position while resizing
-            Vector3 pos = new Vector3();
-            instance.transform.getTranslation(pos);
+            this.scale = scale;
+            Vector3 pos = instance.transform.getTranslation(tmpV3a);
             instance.transform.setToScaling(scale, scale, scale);
             instance.transform.setTranslation(pos);
 
             // keep the orbit outside the planet's visual sphere (+ a small gap)
-            float clearance = parent.visualScale + scale + MOON_CLEARANCE_GAP;
-
-            // base semi-major axis from config (distance scale aware)
-            float aBase = this.aAU * AU_TO_WORLD * modelDistanceScale;
-
-            // minimum a needed so that periapsis = a(1 - e) stays outside clearance
-            float denom = Math.max(0.0001f, (1f - ecc));
-            float aNeeded = clearance / denom;
-
-            this.aEff = Math.max(aBase, aNeeded);
+            this.aEff = sceneLayout.moonAWorld(this.aAU, ecc, parent.scale, scale);
             this.bEff = aEff * (float)Math.sqrt(Math.max(0f, 1f - ecc*ecc));
 
             rebuildMoonOrbitPolyline();
         }
 
         private void rebuildMoonOrbitPolyline() {
-            orbitPoints.clear();
-            float inc = inclinationDeg * MathUtils.degreesToRadians;
-            float cosI = MathUtils.cos(inc), sinI = MathUtils.sin(inc);
-            for (int i = 0; i <= ORBIT_SEGMENTS; i++) {
-                float t = i / (float) ORBIT_SEGMENTS;
-                float E = t * MathUtils.PI2;
-                float x = aEff * (MathUtils.cos(E) - ecc);
-                float z0 = bEff * MathUtils.sin(E);
-                float y = z0 * sinI, z = z0 * cosI;
-                orbitPoints.add(new Vector3(x, y, z));
-            }
-        }
-
-        @Override
-        void drawOrbit(ShapeRenderer sr) {
-            if (parent == null) return;
-            for (int i = 0; i < orbitPoints.size - 1; i++) {
-                Vector3 a = orbitPoints.get(i);
-                Vector3 b = orbitPoints.get(i + 1);
-                float ax = a.x + parent.position.x;
-                float ay = a.y + parent.position.y;
-                float az = a.z + parent.position.z;
-                float bx = b.x + parent.position.x;
-                float by = b.y + parent.position.y;
-                float bz = b.z + parent.position.z;
-                sr.line(ax, ay, az, bx, by, bz, color, color);
-            }
+            if (simIndex >= 0) sim.setSemiMajorAxis(simIndex, aEff);
+            orbitA = aEff;
+            // moon orbits are stored around the origin and drawn translated onto the parent
+            orbit.set(aEff, bEff, ecc, inclinationDeg, orbitSegments);
         }
 
 
-        @Override void updatePosition(float days) {
-            float n = MathUtils.PI2 / periodDays;
-            float M = n * days;
-            M = (float) Math.atan2(Math.sin(M), Math.cos(M));
-            float E = keplerSolve(M, ecc);
-
-            float x = aEff * (MathUtils.cos(E) - ecc);
-            float z0 = bEff * MathUtils.sin(E);
-
-            float inc = inclinationDeg * MathUtils.degreesToRadians;
-            float y = z0 * MathUtils.sin(inc), z = z0 * MathUtils.cos(inc);
-
-            position.set(parent.position.x + x, parent.position.y + y, parent.position.z + z);
-
-            // ----- Spin (tidal lock by default) -----
-            float spinDeg;
-            if (spinPeriodDays != 0f) {
-                if (spinMode == SpinMode.SMOOTH) {
-                    float secondsPerRotation = EARTH_SMOOTH_SECONDS * (spinPeriodDays / EARTH_DAY_DAYS);
-                    float omegaDegPerSec = 360f / secondsPerRotation;
-                    float dt = Gdx.graphics.getDeltaTime();
-                    spinAngleDeg = (spinAngleDeg + omegaDegPerSec * dt) % 360f;
-                    spinDeg = spinAngleDeg;
-                } else {
-                    spinDeg = (days / spinPeriodDays) * 360f;
-                }
-            } else {
-                spinDeg = 0f;
-            }
-
-            Vector3 s = new Vector3(); instance.transform.getScale(s);
-            instance.transform.idt();
-            instance.transform.setToScaling(s);
-            instance.transform.rotate(Vector3.X, spinTiltDeg); // keep if you set any tilt for moons
-            instance.transform.rotate(Vector3.Y, spinDeg);
-            instance.transform.setTranslation(position);
-        }
-
         float getPeriapsisWorld() { return aEff * (1f - ecc); }
     }
 
 
     @Override public void create() {
-        modelBatch = new ModelBatch();
+        modelBatch = new ModelBatch(new ProceduralSurfaceShader.Provider());
         shapeRenderer = new ShapeRenderer();
         uiBatch = new SpriteBatch();
 
         font = new BitmapFont();
+        hud = new HudLayer(font);
+        profiler = new FrameProfiler(font);
         titleFont = new BitmapFont();
         titleFont.getData().setScale(1.4f);
 
@@ -430,9 +329,28 @@ public class VibeUniverse extends ApplicationAdapter {
         ModelBuilder mb=new ModelBuilder();
         int USAGE = VertexAttributes.Usage.Position|VertexAttributes.Usage.Normal|VertexAttributes.Usage.TextureCoordinates;
         sunModel = mb.createSphere(4f,4f,4f,32,32,new Material(),USAGE);
-        planetModel = mb.createSphere(1f,1f,1f,24,24,new Material(),USAGE);
-        moonModel   = mb.createSphere(1f,1f,1f,18,18,new Material(),USAGE);
+        sphereLods = new SphereLods(mb, USAGE);
         sunInstance = new ModelInstance(sunModel);
+        orbitRenderer = new OrbitRenderer();
+        texturePipeline = new TexturePipeline(createTextureDiskCache());
+        textureCache = new TextureCache(texturePipeline);
+        exoPrefetcher = new ExoPrefetcher(shaderSurfaces ? null : texturePipeline, GENERIC_MOON_TEXTURE);
+        if (shaderSurfaces && Gdx.gl30 != null && Boolean.parseBoolean(System.getProperty("vibe.instancing", "true"))){
+            try { instancedBodies = new InstancedBodyRenderer(sphereLods); bodyInstances = new BodyInstances(); }
+            catch (GdxRuntimeException ex) { Gdx.app.error("Vibe", "Instanced bodies disabled", ex); }
+        }
+        if (Boolean.parseBoolean(System.getProperty("vibe.ephemeris", "true"))){
+            ephemeris = new EphemerisCache();
+            sim.setEphemeris(ephemeris);
+        }
+        try { impostorRenderer = new ImpostorRenderer(); }
+        catch (GdxRuntimeException ex) { Gdx.app.error("Vibe", "Impostors disabled", ex); }
+        try { ringRenderer = new RingRenderer(); }
+        catch (GdxRuntimeException ex) { Gdx.app.error("Vibe", "Rings disabled", ex); }
+        try { beltRenderer = new BeltRenderer(); }
+        catch (GdxRuntimeException ex) { Gdx.app.error("Vibe", "Belt rendering disabled", ex); }
+        frame = new SimFrame<>(sim, ephemeris, camera, profiler, planets, moons, belts, bodyInstances,
+                impostorRenderer!=null ? impostorPoints : null, impostorThresholdPx);
 
         txSun = makeRadialSunTexture(512,512,new Color(1f,0.95f,0.6f,1f), new Color(1f,0.6f,0.2f,1f));
         txSunHalo = makeSunHaloTexture(512, new Color(1.0f,0.9f,0.6f,1f), 0.65f, 0.0f);
@@ -444,7 +362,7 @@ public class VibeUniverse extends ApplicationAdapter {
 
         // Load SOL from embedded JSON
         loadModelFromJsonString(SOL_MODEL_JSON);
-        rebuildSaturnRings();
+        layoutRings();
         buildDataFeed();
 
         // Inputs
@@ -460,8 +378,8 @@ public class VibeUniverse extends ApplicationAdapter {
                     if (btnDynamic.contains(sx,y)){ return true; }
                     if (btnExo.contains(sx,y)){ enterExoMenu(); return true; }
                 } else if (state==AppState.EXO_MENU && button==Input.Buttons.LEFT){
-                    if (btnPrev.contains(sx,y)){ if (exoEntries.size>0) exoIndex=(exoIndex-1+exoEntries.size)%exoEntries.size; return true; }
-                    if (btnNext.contains(sx,y)){ if (exoEntries.size>0) exoIndex=(exoIndex+1)%exoEntries.size; return true; }
+                    if (btnPrev.contains(sx,y)){ if (exoEntries.size>0) exoIndex=(exoIndex-1+exoEntries.size)%exoEntries.size; prefetchExoNeighbours(); return true; }
+                    if (btnNext.contains(sx,y)){ if (exoEntries.size>0) exoIndex=(exoIndex+1)%exoEntries.size; prefetchExoNeighbours(); return true; }
                     if (btnLoad.contains(sx,y)){ if (exoEntries.size>0) { loadExoAndStart(); } return true; }
                 }
 
@@ -493,9 +411,10 @@ public class VibeUniverse extends ApplicationAdapter {
                     case ORBITS: drawOrbits = !drawOrbits; break;
                     case AXES: showAxes = !showAxes; break;
                     case COMPRESS:
-                        compressDistances = !compressDistances;
+                        sceneLayout.compressDistances = !sceneLayout.compressDistances;
                         for (Body p: planets) p.rebuildOrbitPolyline();
                         for (Moon m: moons) m.initOrbit();
+                        relayoutBelts();
                         break;
                     case LIGHT:
                         extendedLighting = !extendedLighting;
@@ -508,8 +427,6 @@ public class VibeUniverse extends ApplicationAdapter {
                             default:          moonMode = MoonMode.EXAGGERATED; break;
                         }
                         applyMoonMode();
-                        for (Body p : planets) enforceMoonSeparation(p);
-                        rebuildSaturnRings();
                         break;
                     case SPIN:
                         spinMode = (spinMode == SpinMode.SMOOTH ? SpinMode.REALISTIC : SpinMode.SMOOTH);
@@ -537,7 +454,7 @@ public class VibeUniverse extends ApplicationAdapter {
                 if (rightDragging){
                     camYawDeg -= dx*0.3f; camPitchDeg -= dy*0.3f; camPitchDeg=MathUtils.clamp(camPitchDeg,-85f,85f); updateCamera();
                 } else if (middleDragging){
-                    Vector3 right=new Vector3(), up=new Vector3(0,1,0), forward=new Vector3();
+                    Vector3 right=tmpV3a, up=tmpV3b, forward=tmpV3c;
                     getCameraBasis(right,up,forward);
                     camTarget.mulAdd(right,-dx*0.01f*camDistance*0.05f);
                     camTarget.mulAdd(up,   dy*0.01f*camDistance*0.05f);
@@ -557,8 +474,8 @@ public class VibeUniverse extends ApplicationAdapter {
                     return false;
                 } else if (state==AppState.EXO_MENU){
                     if (key==Input.Keys.ESCAPE){ state=AppState.SPLASH; return true; }
-                    if (key==Input.Keys.LEFT){ if (exoEntries.size>0) exoIndex=(exoIndex-1+exoEntries.size)%exoEntries.size; return true; }
-                    if (key==Input.Keys.RIGHT){ if (exoEntries.size>0) exoIndex=(exoIndex+1)%exoEntries.size; return true; }
+                    if (key==Input.Keys.LEFT){ if (exoEntries.size>0) exoIndex=(exoIndex-1+exoEntries.size)%exoEntries.size; prefetchExoNeighbours(); return true; }
+                    if (key==Input.Keys.RIGHT){ if (exoEntries.size>0) exoIndex=(exoIndex+1)%exoEntries.size; prefetchExoNeighbours(); return true; }
                     if (key==Input.Keys.ENTER){ if (exoEntries.size>0) { loadExoAndStart(); } return true; }
                     return false;
                 }
@@ -582,11 +499,13 @@ public class VibeUniverse extends ApplicationAdapter {
                 }
                 if (state == AppState.SIM){
                     if (key == Input.Keys.ESCAPE){ state = AppState.SPLASH; return true; }
+                    if (key == Input.Keys.F3){ profiler.toggleOverlay(); return true; }
+                    if (key == Input.Keys.F4){ profiler.toggleRecording(Gdx.files.local("frame-timings-" + System.currentTimeMillis() + ".csv")); return true; }
                 }
 
 
                 if (key == Input.Keys.T) {
-                    truePlanetProportions = !truePlanetProportions;
+                    sceneLayout.truePlanetProportions = !sceneLayout.truePlanetProportions;
                     // Rebuild all planet sizes
                     Array<Body> copyPlanets = new Array<>(planets);
                     for (Body p : copyPlanets) {
@@ -599,7 +518,7 @@ public class VibeUniverse extends ApplicationAdapter {
                     applyMoonMode();
                     // Rebuild orbits (clearance may change)
                     for (Body p : planets) p.rebuildOrbitPolyline();
-                    rebuildSaturnRings();
+                    layoutRings();
                     return true;
                 }
 
@@ -607,7 +526,7 @@ public class VibeUniverse extends ApplicationAdapter {
                 if (key==Input.Keys.SPACE){ paused=!paused; return true; }
                 if (key==Input.Keys.O){ drawOrbits=!drawOrbits; return true; }
                 if (key==Input.Keys.X){ showAxes=!showAxes; return true; }
-                if (key==Input.Keys.C){ compressDistances=!compressDistances; for (Body p:planets)p.rebuildOrbitPolyline(); return true; }
+                if (key==Input.Keys.C){ sceneLayout.compressDistances=!sceneLayout.compressDistances; for (Body p:planets)p.rebuildOrbitPolyline(); relayoutBelts(); return true; }
                 if (key==Input.Keys.LEFT_BRACKET){ timeScaleDaysPerSec=Math.max(0f, timeScaleDaysPerSec-TIME_INC); return true; }
                 if (key==Input.Keys.RIGHT_BRACKET){ timeScaleDaysPerSec=Math.min(2000f, timeScaleDaysPerSec+TIME_INC); return true; }
                 if (key==Input.Keys.R && (Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT)||Gdx.input.isKeyPressed(Input.Keys.SHIFT_RIGHT))){ resetCamera(); return true; }
@@ -645,6 +564,12 @@ public class VibeUniverse extends ApplicationAdapter {
         f.setColor(old);
     }
 
+    /** Draws {@code text} centred in {@code r} (uiBatch must be active); measures with the shared layout. */
+    private void drawCentered(BitmapFont f, CharSequence text, Rectangle r){
+        layout.setText(f, text);
+        f.draw(uiBatch, layout, r.x+(r.width-layout.width)/2f, r.y+(r.height+layout.height)/2f);
+    }
+
     private void drawTextOutlined(BitmapFont f, SpriteBatch b, CharSequence text, float x, float y, Color color){
         // Quick 4-direction outline
         Color old = f.getColor();
@@ -681,35 +606,35 @@ public class VibeUniverse extends ApplicationAdapter {
     }
 
 
-    private void startSim(){ state=AppState.SIM; simTimeDays=0f; resetCamera(); }
-    private void enterExoMenu(){ state=AppState.EXO_MENU; }
+    private void startSim(){ state=AppState.SIM; simTimeDays=0.0; resetCamera(); }
+    private void enterExoMenu(){ state=AppState.EXO_MENU; prefetchExoNeighbours(); }
+    /** Prepares the selected entry and its Prev/Next neighbours in the background so Load is near-instant. */
+    private void prefetchExoNeighbours(){
+        int n=exoEntries.size;
+        if (n==0) return;
+        exoPrefetcher.prefetch(exoEntries.get(exoIndex).path, exoEntries.get((exoIndex+1)%n).path, exoEntries.get((exoIndex-1+n)%n).path);
+    }
 
     // Java
     private void logPaths() {
+        if (Gdx.app.getLogLevel() < Application.LOG_DEBUG) return;
         FileHandle localRoot = Gdx.files.local("");
         FileHandle internalRoot = Gdx.files.internal("");
         FileHandle exoLocal = Gdx.files.local("models/exo");
         FileHandle exoInternal = Gdx.files.internal("models/exo");
 
-        Gdx.app.log("PATH", "Local root absolute: " + localRoot.file().getAbsolutePath());
-        Gdx.app.log("PATH", "CWD (.) absolute: " + new java.io.File(".").getAbsolutePath());
-        Gdx.app.log("PATH", "Internal root path(): " + internalRoot.path() + " (exists=" + internalRoot.exists() + ")");
-        Gdx.app.log("PATH", "Local exo path: " + exoLocal.file().getAbsolutePath() + " (exists=" + exoLocal.exists() + ")");
-        Gdx.app.log("PATH", "Internal exo path(): " + exoInternal.path() + " (exists=" + exoInternal.exists() + ")");
-
-        // If you need to enumerate local root:
-        for (FileHandle f : localRoot.list()) {
-            Gdx.app.log("PATH", "Local entry: " + f.path());
-        }
+        Gdx.app.debug("PATH", "Local root absolute: " + localRoot.file().getAbsolutePath());
+        Gdx.app.debug("PATH", "CWD (.) absolute: " + new java.io.File(".").getAbsolutePath());
+        Gdx.app.debug("PATH", "Internal root path(): " + internalRoot.path() + " (exists=" + internalRoot.exists() + ")");
+        Gdx.app.debug("PATH", "Local exo path: " + exoLocal.file().getAbsolutePath() + " (exists=" + exoLocal.exists() + ")");
+        Gdx.app.debug("PATH", "Internal exo path(): " + exoInternal.path() + " (exists=" + exoInternal.exists() + ")");
     }
-
     private void refreshExoEntries() {
         exoEntries.clear();
-        FileHandle base = Gdx.files.internal("models/exo");
         logPaths();
 
-
-        if (!base.exists() || base.list() == null || base.list().length == 0) {
+        FileHandle base = Gdx.files.internal("models/exo");
+        if (!base.exists() || base.list().length == 0) {
             // Fallbacks for dev (adjust paths to your project)
             FileHandle dev1 = Gdx.files.local("assets/models/exo");
             FileHandle dev2 = Gdx.files.local("core/src/main/resources/models/exo");
@@ -723,93 +648,86 @@ public class VibeUniverse extends ApplicationAdapter {
             return;
         }
 
-        FileHandle[] files = base.list("json");
-        if (files == null || files.length == 0) {
-            Gdx.app.error("Vibe", "No *.json files in " + base.path());
-            return;
-        }
-
-        for (FileHandle f : files) {
-            try {
-                JsonValue r = new JsonReader().parse(f);
-                exoEntries.add(new ExoEntry(f.path(),
-                        r.getString("name", f.nameWithoutExtension()),
-                        r.getString("description", "")));
-            } catch (Exception ex) {
-                Gdx.app.error("Vibe", "Failed parsing " + f.path(), ex);
-            }
-        }
+        exoEntries = ExoCatalog.scan(base, Gdx.files.local("cache/exo-index.tsv"));
+        if (exoEntries.size == 0) Gdx.app.error("Vibe", "No *.json files in " + base.path());
         exoIndex = 0;
         Gdx.app.log("Vibe", "Loaded exo models: " + exoEntries.size);
     }
-
-
     private void loadExoAndStart(){
-        ExoEntry e = exoEntries.get(exoIndex);
-        loadModelFromFile(e.path);
+        ExoCatalog.Entry e = exoEntries.get(exoIndex);
+        ExoPrefetcher.Prefetched pre = exoPrefetcher.take(e.path);
+        exoPrefetcher.prefetch(); // leaving the menu: free the neighbours
+        if (pre != null){
+            for (ObjectMap.Entry<TextureSpec, Pixmap> t : pre.pixmaps) texturePipeline.offer(t.key, t.value);
+            try { buildSystem(pre.system::replay); }
+            catch (Exception ex){ Gdx.app.error("Vibe","Failed to load "+e.path, ex); }
+            texturePipeline.dropOffers();
+        } else {
+            loadModelFromFile(e.path);
+        }
         buildDataFeed();
-        rebuildSaturnRings();
+        layoutRings();
         startSim();
     }
 
     private void buildDataFeed(){
-        feed.clear();
-        for (Body p:planets) if (p.index>0) feed.add(new PlanetInfo(p.name,p.index,p.periodDays));
+        hud.clearFeed();
+        for (Body p:planets) if (p.index>0) hud.addPlanet(p.index, p.name, p.periodDays);
     }
 
     @Override public void render(){
+        if (state==AppState.SIM) profiler.beginFrame();
+        profiler.phase(FrameProfiler.Phase.UPLOAD);
+        texturePipeline.uploadPending(TEXTURE_UPLOAD_BUDGET_NANOS);
         if (state==AppState.SPLASH){ renderSplash(); return; }
         if (state==AppState.EXO_MENU){ renderExoMenu(); return; }
 
 
         float dt=Gdx.graphics.getDeltaTime();
-        if (!paused) simTimeDays += timeScaleDaysPerSec * dt;
+        if (!paused) simTimeDays += (double)timeScaleDaysPerSec * dt;
 
         ScreenUtils.clear(0.05f,0.05f,0.08f,1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
 
-        for (Body p:planets) p.updatePosition(simTimeDays);
-        for (Moon m:moons) if (m.visible) m.updatePosition(simTimeDays);
-
-        if (saturnBody!=null && saturnRingInstance!=null){
-            saturnRingInstance.transform.idt();
-            saturnRingInstance.transform.rotate(Vector3.X, saturnBody.spinTiltDeg);
-            saturnRingInstance.transform.setTranslation(saturnBody.position);
-        }
+        // propagation, culling/LOD and batch packing; ends in the MODELS phase
+        frame.update(dt, simTimeDays, timeScaleDaysPerSec, paused, spinMode==SpinMode.SMOOTH, drawOrbits, showAxes,
+                sceneLayout.compressDistances, cameraVersion, Gdx.graphics.getFramesPerSecond());
 
+        ColorAttribute amb=(ColorAttribute)environment.get(ColorAttribute.AmbientLight);
+        float ambient = amb!=null ? amb.color.r : 0.2f;
+        // instanced bodies in their own pass (one call per LOD level); then the batch has the star and any mesh bodies
+        if (instancedBodies!=null) instancedBodies.render(bodyInstances, camera, environment);
         modelBatch.begin(camera);
         modelBatch.render(sunInstance, environment);
-        for (Body p:planets){
-            if (p==saturnBody && saturnRingInstance!=null) modelBatch.render(saturnRingInstance, environment);
-            modelBatch.render(p.instance, environment);
-        }
-        for (Moon m:moons) if (m.visible) modelBatch.render(m.instance, environment);
+        for (Body b:frame.meshBodies){ sphereLods.apply(b.instance, b.lod); modelBatch.render(b.instance, environment); }
         modelBatch.end();
+        if (ringRenderer!=null) drawRings(ambient);
+        if (impostorRenderer!=null) impostorRenderer.render(impostorPoints, camera, sunPoint.color, sunPoint.intensity, ambient);
+
+        profiler.phase(FrameProfiler.Phase.BELTS);
+        if (beltRenderer!=null){
+            for (Belt b:belts) beltRenderer.render(camera, b.instances, b.count, b.color, sunPoint.color, ambient);
+        }
 
+        profiler.phase(FrameProfiler.Phase.ORBITS);
         if (drawOrbits){
-            shapeRenderer.setProjectionMatrix(camera.combined);
-            shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-            for (Body p:planets) p.drawOrbit(shapeRenderer);
-            for (Moon m:moons) if (m.visible) m.drawOrbit(shapeRenderer);
-            shapeRenderer.end();
+            for (Body b:frame.staleOrbits) b.initOrbit();
+            orbitRenderer.begin(camera);
+            for (Body p:planets) orbitRenderer.draw(p.orbit, p.color, null);
+            for (Moon m:moons) if (m.visible) orbitRenderer.draw(m.orbit, m.color, m.parent.position);
         }
 
+        profiler.phase(FrameProfiler.Phase.AXES);
         if (showAxes){
             shapeRenderer.setProjectionMatrix(camera.combined);
             shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
             shapeRenderer.setColor(0.95f,0.95f,1f,1f);
-            for (Body p:planets){
-                p.instance.transform.getRotation(tmpQ);
-                Matrix4 rotM=new Matrix4().set(tmpQ);
-                Vector3 axis = new Vector3(0,1,0).mul(rotM).nor();
-                float len=Math.max(1.5f, p.visualScale*2.2f);
-                Vector3 a=new Vector3(p.position).mulAdd(axis,-len);
-                Vector3 b=new Vector3(p.position).mulAdd(axis, len);
-                shapeRenderer.line(a,b);
-            }
+            float[] a=frame.axes.items;
+            for (int i=0;i<frame.axes.size;i+=6) shapeRenderer.line(a[i],a[i+1],a[i+2], a[i+3],a[i+4],a[i+5]);
             shapeRenderer.end();
         }
 
+        profiler.phase(FrameProfiler.Phase.HALO);
         if (txSunHalo!=null){
             Vector3 ss=tmpV3a.set(0,0,0); camera.project(ss);
             if (ss.z>=0f && ss.z<=1f){
@@ -824,24 +742,17 @@ public class VibeUniverse extends ApplicationAdapter {
         }
 
         // HUD
+        profiler.phase(FrameProfiler.Phase.HUD);
         uiCam.update(); uiBatch.setProjectionMatrix(uiCam.combined); uiBatch.begin();
-        float x=12f, y=uiCam.viewportHeight-12f;
-        font.draw(uiBatch,"Vibe Universe — Data Feed",x,y); y-=18f;
-        for (PlanetInfo pi:feed){ font.draw(uiBatch, "#"+pi.index+"  "+pi.name+" — "+String.format("%.3f d", pi.periodDays), x,y); y-=16f; }
-        y-=6f;
-        font.draw(uiBatch, String.format("Sim time: %.1f d | Scale: %.1f d/s [%s] | FPS: %d | Compress: %s | Axes: %s",
-                simTimeDays, timeScaleDaysPerSec, paused? "PAUSED":"RUN", Gdx.graphics.getFramesPerSecond(),
-                compressDistances? "ON":"OFF", showAxes? "ON":"OFF"), x,y);
-
-        y -= 20f;
-        font.draw(uiBatch, "Controls:  Right-drag=orbit  Middle-drag=pan  Wheel=zoom  Shift+R=reset  1-8=focus", x, y); y -= 16f;
-        font.draw(uiBatch, "Toggle:    Space=pause  O=orbits  X=axes  C=distance-compress  L=extended-light  M=moon-mode, V=spin mode (Smooth/Realistic)\n", x, y); y -= 16f;
-        font.draw(uiBatch, "Moon mode: EXAGGERATED → REALISTIC → HIDDEN", x, y);
+        hud.draw(uiBatch, uiCam.viewportHeight, frame.hudStatus);
+        profiler.draw(uiBatch, dt);
         uiBatch.end();
 
         if (state==AppState.SIM ) {
+            profiler.phase(FrameProfiler.Phase.TOP_BAR);
             drawSimTopBar();
         }
+        profiler.endFrame();
     }
 
     private void drawSimTopBar(){
@@ -875,7 +786,7 @@ public class VibeUniverse extends ApplicationAdapter {
         // Icons on right (state-colored)
         for (int i=0;i<simIconRects.size;i++){
             Rectangle r = simIconRects.get(i);
-            SimIcon icon = SimIcon.values()[i];
+            SimIcon icon = SIM_ICONS[i];
             boolean on = isIconOn(icon);
             String label = iconLabel(icon);
 
@@ -906,10 +817,10 @@ public class VibeUniverse extends ApplicationAdapter {
 
             uiBatch.begin();
             font.setColor(1f,1f,1f,1f);
-            GlyphLayout gl = new GlyphLayout(font, label);
-            float tx = r.x + (r.width - gl.width)/2f;
-            float ty = r.y + (r.height + gl.height)/2f;
-            font.draw(uiBatch, gl, tx, ty);
+            layout.setText(font, label);
+            float tx = r.x + (r.width - layout.width)/2f;
+            float ty = r.y + (r.height + layout.height)/2f;
+            font.draw(uiBatch, layout, tx, ty);
         }
         uiBatch.end();
     }
@@ -919,7 +830,7 @@ public class VibeUniverse extends ApplicationAdapter {
             case PAUSE:   return paused;
             case ORBITS:  return drawOrbits;
             case AXES:    return showAxes;
-            case COMPRESS:return compressDistances;
+            case COMPRESS:return sceneLayout.compressDistances;
             case LIGHT:   return extendedLighting;
             case MOON:    return moonMode != MoonMode.HIDDEN;
             case SPIN:    return spinMode == SpinMode.SMOOTH; // treat Smooth as "on"
@@ -953,25 +864,25 @@ public class VibeUniverse extends ApplicationAdapter {
 
         // Title & subtitle
         String title = "Vibe Universe";
-        GlyphLayout tl = new GlyphLayout(titleFont, title);
-        float tx = (uiCam.viewportWidth - tl.width) / 2f;
+        layout.setText(titleFont, title);
+        float tx = (uiCam.viewportWidth - layout.width) / 2f;
         float ty = uiCam.viewportHeight * 0.70f;
 
         uiBatch.setProjectionMatrix(uiCam.combined);
         uiBatch.begin();
-        drawTextOutlined(titleFont, uiBatch, title, tx, ty, new Color(1f, 0.95f, 0.8f, 1f));
+        drawTextOutlined(titleFont, uiBatch, title, tx, ty, SPLASH_TITLE);
 
         String subtitle = "Choose a mode";
-        GlyphLayout sub = new GlyphLayout(font, subtitle);
-        float sx = (uiCam.viewportWidth - sub.width) / 2f;
+        layout.setText(font, subtitle);
+        float sx = (uiCam.viewportWidth - layout.width) / 2f;
         float sy = ty - (28f * uiScale);
-        drawTextShadowed(font, uiBatch, subtitle, sx, sy, new Color(0.85f, 0.88f, 1f, 1f));
+        drawTextShadowed(font, uiBatch, subtitle, sx, sy, SPLASH_SUBTITLE);
         uiBatch.end();
 
         // Button fills (hover-sensitive)
-        Color staticBase  = hoveredStatic  ? new Color(0.20f, 0.45f, 0.80f, 1f) : new Color(0.15f, 0.35f, 0.65f, 1f);
-        Color dynamicBase = hoveredDynamic ? new Color(0.25f, 0.25f, 0.25f, 1f) : new Color(0.18f, 0.18f, 0.18f, 1f);
-        Color exoBase     = hoveredExo     ? new Color(0.28f, 0.50f, 0.28f, 1f) : new Color(0.20f, 0.40f, 0.20f, 1f);
+        Color staticBase  = hoveredStatic  ? BTN_STATIC_HOVER  : BTN_STATIC;
+        Color dynamicBase = hoveredDynamic ? BTN_DYNAMIC_HOVER : BTN_DYNAMIC;
+        Color exoBase     = hoveredExo     ? BTN_EXO_HOVER     : BTN_EXO;
 
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
         Gdx.gl.glEnable(GL20.GL_BLEND);
@@ -1000,16 +911,15 @@ public class VibeUniverse extends ApplicationAdapter {
         String lblDynamic = "Dynamic Sol Simplified (coming soon)";
         String lblExo     = "Exo Planets";
 
-        GlyphLayout gl1 = new GlyphLayout(font, lblStatic);
-        GlyphLayout gl2 = new GlyphLayout(font, lblDynamic);
-        GlyphLayout gl3 = new GlyphLayout(font, lblExo);
-
-        float t1x = btnStatic.x  + (btnStatic.width  - gl1.width) / 2f;
-        float t1y = btnStatic.y  + (btnStatic.height + gl1.height) / 2f;
-        float t2x = btnDynamic.x + (btnDynamic.width - gl2.width) / 2f;
-        float t2y = btnDynamic.y + (btnDynamic.height + gl2.height) / 2f;
-        float t3x = btnExo.x     + (btnExo.width     - gl3.width) / 2f;
-        float t3y = btnExo.y     + (btnExo.height    + gl3.height) / 2f;
+        layout.setText(font, lblStatic);
+        float t1x = btnStatic.x  + (btnStatic.width  - layout.width) / 2f;
+        float t1y = btnStatic.y  + (btnStatic.height + layout.height) / 2f;
+        layout.setText(font, lblDynamic);
+        float t2x = btnDynamic.x + (btnDynamic.width - layout.width) / 2f;
+        float t2y = btnDynamic.y + (btnDynamic.height + layout.height) / 2f;
+        layout.setText(font, lblExo);
+        float t3x = btnExo.x     + (btnExo.width     - layout.width) / 2f;
+        float t3y = btnExo.y     + (btnExo.height    + layout.height) / 2f;
 
         drawTextShadowed(font, uiBatch, lblStatic,  t1x, t1y, Color.WHITE);
         drawTextShadowed(font, uiBatch, lblDynamic, t2x, t2y, Color.WHITE);
@@ -1017,10 +927,10 @@ public class VibeUniverse extends ApplicationAdapter {
 
         // Hint
         String hint = "Press E for Exo Planets";
-        GlyphLayout gl4 = new GlyphLayout(font, hint);
-        float hx = (uiCam.viewportWidth - gl4.width) / 2f;
+        layout.setText(font, hint);
+        float hx = (uiCam.viewportWidth - layout.width) / 2f;
         float hy = btnExo.y - (14f * uiScale);
-        drawTextShadowed(font, uiBatch, hint, hx, hy, new Color(0.8f, 0.85f, 0.95f, 1f));
+        drawTextShadowed(font, uiBatch, hint, hx, hy, SPLASH_HINT);
 
         uiBatch.end();
     }
@@ -1036,18 +946,19 @@ public class VibeUniverse extends ApplicationAdapter {
 
         uiBatch.setProjectionMatrix(uiCam.combined); uiBatch.begin();
         String title="Exo Planets — Select a Model";
-        GlyphLayout tl=new GlyphLayout(titleFont,title);
-        float tx=(uiCam.viewportWidth-tl.width)/2f, ty=uiCam.viewportHeight*0.80f;
-        titleFont.setColor(1f,0.95f,0.8f,1f); titleFont.draw(uiBatch, tl, tx, ty);
+        titleFont.setColor(1f,0.95f,0.8f,1f);
+        layout.setText(titleFont,title);
+        float tx=(uiCam.viewportWidth-layout.width)/2f, ty=uiCam.viewportHeight*0.80f;
+        titleFont.draw(uiBatch, layout, tx, ty);
         if (exoEntries.size==0){
             String msg="No exo models found in resources: models/exo/*.json";
-            GlyphLayout g=new GlyphLayout(font,msg);
-            font.draw(uiBatch, g, (uiCam.viewportWidth-g.width)/2f, ty-40f);
+            layout.setText(font,msg);
+            font.draw(uiBatch, layout, (uiCam.viewportWidth-layout.width)/2f, ty-40f);
         } else {
-            ExoEntry e = exoEntries.get(exoIndex);
-            GlyphLayout g1=new GlyphLayout(font, e.name);
+            ExoCatalog.Entry e = exoEntries.get(exoIndex);
             font.setColor(1f,1f,1f,1f);
-            font.draw(uiBatch, g1, (uiCam.viewportWidth-g1.width)/2f, uiCam.viewportHeight*0.60f);
+            layout.setText(font, e.name);
+            font.draw(uiBatch, layout, (uiCam.viewportWidth-layout.width)/2f, uiCam.viewportHeight*0.60f);
             layout.setText(font, e.description, Color.WHITE, uiCam.viewportWidth*0.70f, 1, true);
             font.draw(uiBatch, layout, (uiCam.viewportWidth-layout.width)/2f, uiCam.viewportHeight*0.52f);
         }
@@ -1066,9 +977,8 @@ public class VibeUniverse extends ApplicationAdapter {
         shapeRenderer.end();
 
         uiBatch.begin();
-        GlyphLayout glBack=new GlyphLayout(font,"Back");
         font.setColor(1f,1f,1f,1f);
-        font.draw(uiBatch, glBack, btnExoBack.x+(btnExoBack.width-glBack.width)/2f, btnExoBack.y+(btnExoBack.height+glBack.height)/2f);
+        drawCentered(font, "Back", btnExoBack);
         uiBatch.end();
 
 
@@ -1087,27 +997,25 @@ public class VibeUniverse extends ApplicationAdapter {
         shapeRenderer.end();
 
         uiBatch.begin();
-        GlyphLayout glPrev=new GlyphLayout(font,"< Prev");
-        font.draw(uiBatch, glPrev, btnPrev.x+(btnPrev.width-glPrev.width)/2f, btnPrev.y+(btnPrev.height+glPrev.height)/2f);
-        GlyphLayout glNext=new GlyphLayout(font,"Next >");
-        font.draw(uiBatch, glNext, btnNext.x+(btnNext.width-glNext.width)/2f, btnNext.y+(btnNext.height+glNext.height)/2f);
-        GlyphLayout glLoad=new GlyphLayout(font,"Load Model");
-        font.draw(uiBatch, glLoad, btnLoad.x+(btnLoad.width-glLoad.width)/2f, btnLoad.y+(btnLoad.height+glLoad.height)/2f);
+        drawCentered(font, "< Prev", btnPrev);
+        drawCentered(font, "Next >", btnNext);
+        drawCentered(font, "Load Model", btnLoad);
 
         // log message if no models where loaded
         if (exoEntries.size==0) {
             String msg2="Looked in: models/exo/ (classpath). Bundle JSONs under core/src/main/resources/models/exo/";
-            GlyphLayout g2=new GlyphLayout(font,msg2);
-            drawTextShadowed(font, uiBatch, msg2, (uiCam.viewportWidth-g2.width)/2f, ty-60f*uiScale, new Color(1f,0.8f,0.8f,1f));
+            layout.setText(font,msg2);
+            drawTextShadowed(font, uiBatch, msg2, (uiCam.viewportWidth-layout.width)/2f, ty-60f*uiScale, EXO_WARNING);
         }
 
         uiBatch.end();
     }
 
     @Override public void resize(int w,int h){
-        camera.viewportWidth=w; camera.viewportHeight=h; camera.update();
+        camera.viewportWidth=w; camera.viewportHeight=h; camera.update(); cameraVersion++;
         uiCam.setToOrtho(false,w,h); uiCam.update();
         updateUiScale();
+        hud.invalidate();
         updateTopBarButtons();
         updateSplashButtons();
         updateExoButtons();
@@ -1117,12 +1025,21 @@ public class VibeUniverse extends ApplicationAdapter {
         modelBatch.dispose(); shapeRenderer.dispose(); uiBatch.dispose();
         font.dispose(); titleFont.dispose();
         if (sunModel!=null) sunModel.dispose();
-        if (planetModel!=null) planetModel.dispose();
-        if (moonModel!=null) moonModel.dispose();
-        if (saturnRingModel!=null) saturnRingModel.dispose();
+        if (sphereLods!=null) sphereLods.dispose();
+        if (beltRenderer!=null) beltRenderer.dispose();
+        if (impostorRenderer!=null) impostorRenderer.dispose();
+        if (ringRenderer!=null) ringRenderer.dispose();
+        if (ephemeris!=null) ephemeris.dispose();
+        if (instancedBodies!=null) instancedBodies.dispose();
+        if (bodyInstances!=null) bodyInstances.dispose();
+        orbitRenderer.dispose();
+        disposeBodies();
+        exoPrefetcher.dispose();
+        profiler.dispose();
+        textureCache.dispose();
+        texturePipeline.dispose();
         if (txSun!=null) txSun.dispose();
         if (txSunHalo!=null) txSunHalo.dispose();
-        if (txSaturnRings!=null) txSaturnRings.dispose();
     }
 
     private void updateTopBarButtons(){
@@ -1158,6 +1075,7 @@ public class VibeUniverse extends ApplicationAdapter {
         float cy=camTarget.y + camDistance*MathUtils.sin(pitch);
         if (camera==null) camera=new PerspectiveCamera(67, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         camera.position.set(cx,cy,cz); camera.up.set(0,1,0); camera.lookAt(camTarget); camera.near=0.1f; camera.far=4000f; camera.update();
+        cameraVersion++;
     }
     private void resetCamera(){ camDistance=defaultCamDistance; camYawDeg=defaultCamYawDeg; camPitchDeg=defaultCamPitchDeg; camTarget.set(defaultCamTarget); rightDragging=false; middleDragging=false; updateCamera(); }
     private void focusOnPlanet(int idx){ for (Body p:planets) if (p.index==idx){ camTarget.set(p.position); camDistance=Math.max(8f, p.visualScale*6f); updateCamera(); break; } }
@@ -1211,332 +1129,198 @@ public class VibeUniverse extends ApplicationAdapter {
                 m.setScaleAndRecompute(scale);
             }
         }
-        // After changing moon scales (thus periapses), rebuild Saturn rings (clearance may change)
-        rebuildSaturnRings();
+        // sibling spacing with the sizes that are actually in use
+        for (Body p : planets) enforceMoonSeparation(p);
+        // After changing moon scales (thus periapses), lay the rings out again (clearance may change)
+        layoutRings();
     }
 
 
     // ----- Texture helpers -----
-    private float hash2D(int x, int y){
-        int h = x*374761393 + y*668265263; // large primes
-        h = (h ^ (h >> 13)) * 1274126177;
-        h ^= (h >> 16);
-        // 0..1
-        return (h & 0x7FFFFFFF) / 2147483647f;
-    }
-    private float smoothNoise(float x, float y){
-        int xi = (int)Math.floor(x), yi = (int)Math.floor(y);
-        float tx = x - xi, ty = y - yi;
-
-        float a = hash2D(xi, yi);
-        float b = hash2D(xi+1, yi);
-        float c = hash2D(xi, yi+1);
-        float d = hash2D(xi+1, yi+1);
-
-        float sx = tx*tx*(3f-2f*tx);
-        float sy = ty*ty*(3f-2f*ty);
-
-        float u = MathUtils.lerp(a, b, sx);
-        float v = MathUtils.lerp(c, d, sx);
-        return MathUtils.lerp(u, v, sy);
-    }
-
-    private Texture makeRadialSunTexture(int w,int h, Color inner, Color outer){
-        Pixmap pm=new Pixmap(w,h, Pixmap.Format.RGBA8888);
-        float cx=w/2f, cy=h/2f, maxR=Math.max(w,h)/2f;
-        for (int y=0;y<h;y++) for (int x=0;x<w;x++){
-            float dx=x-cx, dy=y-cy, r=(float)Math.sqrt(dx*dx+dy*dy)/maxR, t=MathUtils.clamp(r,0f,1f);
-            float rr=MathUtils.lerp(inner.r,outer.r,t), gg=MathUtils.lerp(inner.g,outer.g,t), bb=MathUtils.lerp(inner.b,outer.b,t);
-            pm.drawPixel(x,y, Color.rgba8888(rr,gg,bb,1f));
-        }
-        Texture tx=new Texture(pm); tx.setFilter(TextureFilter.Linear, TextureFilter.Linear); pm.dispose(); return tx;
-    }
-    private Texture makeSunHaloTexture(int size, Color color, float innerAlpha, float outerAlpha){
-        Pixmap pm=new Pixmap(size,size, Pixmap.Format.RGBA8888);
-        float cx=size*0.5f, cy=size*0.5f, maxR=size*0.5f;
-        for (int y=0;y<size;y++) for (int x=0;x<size;x++){
-            float dx=x-cx, dy=y-cy, r=(float)Math.sqrt(dx*dx+dy*dy)/maxR, t=MathUtils.clamp(r,0f,1f);
-            float a=MathUtils.lerp(innerAlpha, outerAlpha, t*t*(3f-2f*t));
-            pm.drawPixel(x,y, Color.rgba8888(color.r,color.g,color.b,a));
-        }
+    private Texture upload(Pixmap pm){
         Texture tx=new Texture(pm); tx.setFilter(TextureFilter.Linear, TextureFilter.Linear); pm.dispose(); return tx;
     }
-    private Texture makeSpeckleTexture(int w,int h, Color base, Color speck,float density){
-        Pixmap pm=new Pixmap(w,h, Pixmap.Format.RGBA8888);
-        pm.setColor(base); pm.fill(); pm.setColor(speck);
-        int count=(int)(w*h*density);
-        for (int i=0;i<count;i++){ int x=MathUtils.random(0,w-1), y=MathUtils.random(0,h-1); pm.drawPixel(x,y); }
-        Texture tx=new Texture(pm); tx.setFilter(TextureFilter.Linear, TextureFilter.Linear); pm.dispose(); return tx;
+    private Texture makeRadialSunTexture(int w,int h, Color inner, Color outer){ return upload(ProceduralTextures.radialSun(w,h,inner,outer)); }
+    private Texture makeSunHaloTexture(int size, Color color, float innerAlpha, float outerAlpha){ return upload(ProceduralTextures.sunHalo(size,color,innerAlpha,outerAlpha)); }
+    /** On-disk cache for generated textures ({@code -Dvibe.textureCacheMB=0} turns it off). */
+    private TextureDiskCache createTextureDiskCache(){
+        long mb=Long.getLong("vibe.textureCacheMB", TextureDiskCache.DEFAULT_MAX_BYTES >> 20);
+        if (mb<=0) return null;
+        try { return new TextureDiskCache(Gdx.files.local("cache/textures"), mb << 20); }
+        catch (Exception ex){ Gdx.app.error("Vibe", "Texture disk cache disabled", ex); return null; }
     }
-    private Texture makeBandedTexture(int w,int h, Color[] bands, float jitter){
-        Pixmap pm=new Pixmap(w,h, Pixmap.Format.RGBA8888);
-        int nb=Math.max(2, bands.length);
-
-        // Frequency knobs
-        float latNoiseFreq = 6.0f;     // band waviness
-        float lonStreakFreq = 18.0f;   // faint longitudinal streaks
-        float turbAmount    = 0.15f;   // turbulence depth
-
-        for (int y=0; y<h; y++){
-            float t = y/(float)(h-1);          // 0..1 from pole to pole
-            float pos = t * nb;                // which band
-            int i = Math.min(nb-1, (int)pos);
-            float frac = pos - i;
-
-            // Band jitter by latitudinal noise
-            float n0 = smoothNoise(t*latNoiseFreq, 0.0f);
-            float n1 = smoothNoise(t*latNoiseFreq*2f, 3.3f);
-            float n2 = smoothNoise(t*latNoiseFreq*4f, 7.7f);
-            float turb = (n0*0.6f + n1*0.3f + n2*0.1f) - 0.5f;
-            float f = MathUtils.clamp(frac + turb*jitter*1.2f, 0f, 1f);
-
-            Color c0 = bands[i];
-            Color c1 = bands[Math.min(nb-1, i+1)];
-            float r = MathUtils.lerp(c0.r,c1.r,f);
-            float g = MathUtils.lerp(c0.g,c1.g,f);
-            float b = MathUtils.lerp(c0.b,c1.b,f);
-
-            // Longitudinal streaks (very subtle)
-            for (int x=0; x<w; x++){
-                float u = x/(float)(w-1);
-                float s0 = smoothNoise(u*lonStreakFreq, t*lonStreakFreq);
-                float s1 = smoothNoise(u*lonStreakFreq*2f, t*lonStreakFreq*0.8f);
-                float streak = (s0*0.7f + s1*0.3f - 0.5f) * 0.08f;
-                float rr = MathUtils.clamp(r + streak, 0f, 1f);
-                float gg = MathUtils.clamp(g + streak, 0f, 1f);
-                float bb = MathUtils.clamp(b + streak*0.6f, 0f, 1f);
-                pm.drawPixel(x,y, Color.rgba8888(rr,gg,bb,1f));
-            }
+    /**
+     * Gives {@code body} the surface described by {@code spec}: a procedural-shader attribute, or the shared texture
+     * for {@code spec} (showing the spec's flat colour until it is resident). The flat colour also stays visible if
+     * the surface shader can't be built.
+     */
+    private void requestBodyTexture(Body body, TextureSpec spec){
+        if (body.cachedTexture){ textureCache.release(body.surface, body); body.cachedTexture=false; }
+        Color flat=spec.flatColor(new Color());
+        body.impostorColor.set(flat);
+        body.surface=spec; body.materialRow=-1;
+        for (Material m: body.instance.materials) m.set(ColorAttribute.createDiffuse(flat));
+        if (shaderSurfaces){
+            for (Material m: body.instance.materials) m.set(new ProceduralSurfaceAttribute(spec));
+            return;
         }
-        Texture tx=new Texture(pm); tx.setFilter(TextureFilter.Linear, TextureFilter.Linear); pm.dispose(); return tx;
+        body.cachedTexture=true;
+        textureCache.acquire(spec, body);
     }
 
 
-    // ----- Rings -----
-    private Model createRingModel(float innerR,float outerR,int segments,Material material){
-        ModelBuilder mb=new ModelBuilder(); mb.begin();
-        long attrs=VertexAttributes.Usage.Position|VertexAttributes.Usage.Normal|VertexAttributes.Usage.TextureCoordinates;
-        MeshPartBuilder mpb=mb.part("saturn_rings", GL20.GL_TRIANGLES, attrs, material);
-        Vector3 n=new Vector3(0f,1f,0f); float d=MathUtils.PI2/segments;
-        for (int i=0;i<segments;i++){
-            float a0=i*d, a1=(i+1)*d;
-            float c0=MathUtils.cos(a0), s0=MathUtils.sin(a0), c1=MathUtils.cos(a1), s1=MathUtils.sin(a1);
-            MeshPartBuilder.VertexInfo i0=new MeshPartBuilder.VertexInfo().setPos(innerR*c0,0f,innerR*s0).setNor(n).setUV(0f,(a0/MathUtils.PI2));
-            MeshPartBuilder.VertexInfo i1=new MeshPartBuilder.VertexInfo().setPos(innerR*c1,0f,innerR*s1).setNor(n).setUV(0f,(a1/MathUtils.PI2));
-            MeshPartBuilder.VertexInfo o0=new MeshPartBuilder.VertexInfo().setPos(outerR*c0,0f,outerR*s0).setNor(n).setUV(1f,(a0/MathUtils.PI2));
-            MeshPartBuilder.VertexInfo o1=new MeshPartBuilder.VertexInfo().setPos(outerR*c1,0f,outerR*s1).setNor(n).setUV(1f,(a1/MathUtils.PI2));
-            mpb.triangle(i0,i1,o1); mpb.triangle(i0,o1,o0);
-        }
-        return mb.end();
-    }
-    private Texture makeSaturnRingTexture(int w,int h){
-        Pixmap pm=new Pixmap(w,h, Pixmap.Format.RGBA8888);
-        for (int x=0;x<w;x++){
-            float u=x/(float)(w-1);
-            float r=MathUtils.lerp(0.88f,0.96f,u), g=MathUtils.lerp(0.82f,0.92f,u), b=MathUtils.lerp(0.70f,0.86f,u);
-            float alpha=smoothstep(0.05f,0.95f,u);
-            float bands=(MathUtils.sin(u*70f)*0.5f+0.5f)*0.12f + (MathUtils.sin(u*14f)*0.5f+0.5f)*0.08f;
-            r*=(1f-bands*0.6f); g*=(1f-bands*0.6f); b*=(1f-bands*0.6f);
-            int rgba=Color.rgba8888(r,g,b,alpha); for (int y=0;y<h;y++) pm.drawPixel(x,y,rgba);
-        }
-        Texture tx=new Texture(pm); tx.setFilter(TextureFilter.Linear, TextureFilter.Linear); pm.dispose(); return tx;
-    }
-    private float smoothstep(float e0,float e1,float x){ float t=MathUtils.clamp((x-e0)/(e1-e0),0f,1f); return t*t*(3f-2f*t); }
-
     // ----- JSON loading -----
-    private void clearSystem(){ planets.clear(); moons.clear(); saturnBody=null; saturnRingInstance=null; }
+    private void disposeBodies(){ for (Body p:planets) p.dispose(); for (Moon m:moons) m.dispose(); }
+    private void clearSystem(){ disposeBodies(); if (bodyInstances!=null) bodyInstances.clearMaterials(); planets.clear(); moons.clear(); belts.clear(); sim.clear(); }
+    /** Loads {@code internalPath}, preferring an up-to-date {@code .vsys} sibling (see {@link SystemBinaryConverter}). */
     private void loadModelFromFile(String internalPath){
-        try{
-            FileHandle fh=Gdx.files.internal(internalPath); String json=fh.readString("UTF-8");
-            loadModelFromJsonString(json);
-        }catch(Exception e){ Gdx.app.error("Vibe","Failed to load "+internalPath, e); }
+        FileHandle fh=Gdx.files.internal(internalPath);
+        FileHandle bin=SystemBinary.freshBinary(fh);
+        try {
+            if (bin!=null){
+                SystemBinary sys=SystemBinary.open(bin);
+                buildSystem(sys::replay);
+            } else {
+                buildSystem(sink -> SystemJson.read(() -> fh.reader(8192, "UTF-8"), fh.length(), sink));
+            }
+        }
+        catch(Exception e){ Gdx.app.error("Vibe","Failed to load "+internalPath, e); }
     }
     private void loadModelFromJsonString(String json){
+        try { buildSystem(sink -> SystemJson.read(() -> new StringReader(json), json.length(), sink)); }
+        catch (IOException e){ throw new GdxRuntimeException(e); }
+    }
+    private interface SystemSource { void readInto(SystemSink sink) throws IOException; }
+    /** Replaces the current system with whatever {@code source} delivers; on a read error the system is left empty. */
+    private void buildSystem(SystemSource source) throws IOException {
         clearSystem();
-        JsonValue root=new JsonReader().parse(json);
-
-        modelDistanceScale = root.getFloat("distanceScale", 1.0f);
-        planetSizeScale    = root.getFloat("planetSizeScale", 1.0f);
-        moonExagScale      = root.getFloat("moonExaggeratedScale", 1.0f);
-        moonRealScale      = root.getFloat("moonRealisticScale", 1.0f);
-
-        truePlanetProportionsDefault = root.getBoolean("truePlanetProportions", false);
-        trueMoonProportionsInRealisticDefault = root.getBoolean("trueMoonProportionsInRealistic", false);
-
-        // apply defaults now (can be toggled at runtime)
-        truePlanetProportions = truePlanetProportionsDefault;
-        trueMoonProportionsInRealistic = trueMoonProportionsInRealisticDefault;
-
-
-        // star
-        JsonValue star=root.get("star");
-        Color starColor=new Color(1f,0.95f,0.6f,1f), starEmiss=new Color(1f,0.92f,0.55f,1f);
-        float starRadius=4f;
-        if (star!=null){
-            float[] c = getColorArray(star.get("color"), new float[]{1f,0.95f,0.6f,1f});
-            float[] e = getColorArray(star.get("emissive"), new float[]{1f,0.92f,0.55f,1f});
-            starColor.set(c[0],c[1],c[2], c.length>3?c[3]:1f);
-            starEmiss.set(e[0],e[1],e[2], e.length>3?e[3]:1f);
-            starRadius = star.getFloat("radiusVisual", 4f);
+        sceneBuilder.planetsThisLoad.clear();
+        try { source.readInto(sceneBuilder); }
+        catch (IOException | RuntimeException e){
+            clearSystem();
+            throw e;
         }
-        sunInstance = new ModelInstance(sunModel);
-        sunInstance.transform.setToScaling(starRadius,starRadius,starRadius);
-        for (Material m: sunInstance.materials){
-            m.set(TextureAttribute.createDiffuse(txSun));
-            m.set(ColorAttribute.createDiffuse(Color.WHITE));
-            m.set(ColorAttribute.createEmissive(starEmiss));
+        finishLoad();
+    }
+
+    /** Turns {@link SystemSink} events into the bodies, moons and belts of the scene. */
+    private class SceneBuilder implements SystemSink {
+        final Array<Body> planetsThisLoad = new Array<>();
+
+        @Override public void header(String name, String description, float distanceScale, float planetSizeScale,
+                                     float moonExaggeratedScale, float moonRealisticScale,
+                                     boolean truePlanetProps, boolean trueMoonPropsInRealistic,
+                                     Color starColor, Color starEmiss, float starRadius){
+            // proportion defaults apply now (can be toggled at runtime)
+            sceneLayout.header(distanceScale, planetSizeScale, moonExaggeratedScale, moonRealisticScale, truePlanetProps, trueMoonPropsInRealistic);
+
+            // star
+            sunInstance = new ModelInstance(sunModel);
+            sunInstance.transform.setToScaling(starRadius,starRadius,starRadius);
+            for (Material m: sunInstance.materials){
+                m.set(TextureAttribute.createDiffuse(txSun));
+                m.set(ColorAttribute.createDiffuse(Color.WHITE));
+                m.set(ColorAttribute.createEmissive(starEmiss));
+            }
+            environment.remove(sunPoint);
+            sunPoint=new PointLight().set(starColor.r,starColor.g,starColor.b, 0,0,0, 2000f);
+            environment.add(sunPoint);
         }
-        environment.remove(sunPoint);
-        sunPoint=new PointLight().set(starColor.r,starColor.g,starColor.b, 0,0,0, 2000f);
-        environment.add(sunPoint);
-
-        int nextIdx=1;
-        for (JsonValue b : root.get("bodies")){
-            String type=b.getString("type","planet");
-            if (!"planet".equals(type)) continue;
-            String name=b.getString("name","?");
-            int index=b.getInt("index", nextIdx++);
-            float aAU=b.getFloat("aAU",1f), e=b.getFloat("e",0f), period=b.getFloat("periodDays",365f);
-            float radiusKm=b.getFloat("radiusKm",6371f);
-            float inc=b.getFloat("inclinationDeg",0f), tilt=b.getFloat("spinTiltDeg",0f), rot=b.getFloat("rotationDays",0f);
-            Color color = readColor(b.get("color"), new Color(1,1,1,1));
-            float vis = planetVisualRadius(radiusKm);
-            Body p=new Body(name,index,aAU,e,period,color,planetModel,vis,inc,tilt,rot);
-            applyTextureFromJson(b.get("texture"), p);
+
+        @Override public void planet(String name, int index, float aAU, float e, float periodDays, float radiusKm,
+                                     float inc, float tilt, float rotationDays, Color color, TextureSpec texture, RingSpec rings){
+            Body p=new Body(name,index,aAU,e,periodDays,color,sphereLods.model(SphereLods.PLANET_DEFAULT),sceneLayout.planetVisualRadius(radiusKm),inc,tilt,rotationDays);
+            if (texture!=null) requestBodyTexture(p, texture);
+            p.rings=rings;
             planets.add(p);
+            planetsThisLoad.add(p);
+        }
 
-            // moons
-            JsonValue ms=b.get("moons");
-            if (ms!=null){
-                for (JsonValue m : ms){
-                    String mn=m.getString("name","m");
-                    float ma=m.getFloat("aAU",0.002f), me=m.getFloat("e",0f), mp=m.getFloat("periodDays",5f);
-                    int mr=m.getInt("radiusKm",1000);
-                    float mi=m.getFloat("inclinationDeg",0f);
-                    float ex=moonVisualRadiusExaggerated(mr), rl=moonVisualRadiusRealistic(mr);
-                    Moon moon=new Moon(mn,p,ma,me,mp,Color.WHITE,moonModel,ex,rl,mi);
-                    applyGenericMoonTexture(moon);
-                    moons.add(moon);
-                }
-            }
+        @Override public void moon(int planet, String name, float aAU, float e, float periodDays, int radiusKm, float inc){
+            float ex=sceneLayout.moonVisualRadiusExaggerated(radiusKm), rl=sceneLayout.moonVisualRadiusRealistic(radiusKm);
+            Moon moon=new Moon(name,planetsThisLoad.get(planet),aAU,e,periodDays,Color.WHITE,sphereLods.model(SphereLods.MOON_DEFAULT),ex,rl,inc);
+            applyGenericMoonTexture(moon);
+            moons.add(moon);
+        }
+
+        @Override public void belt(String name, int count, long seed, float aMin, float aMax, float eMin, float eMax,
+                                   float incMin, float incMax, float size, float starMass, Color color){
+            belts.add(Belt.generate(name, count, seed, aMin, aMax, eMin, eMax, incMin, incMax, size, starMass, color));
         }
 
+        @Override public void progress(float f){ Gdx.app.debug("Vibe", "Loading system: " + (int)(f*100) + "%"); }
+    }
+    private void finishLoad(){
+        registerBodiesInSim();
+        // textures the previous system used and this one doesn't
+        textureCache.evictUnused();
+
         // initial orbit polylines
         for (Body p : planets) p.initOrbit();
         for (Moon m : moons)  m.initOrbit();
 
-        // enforce spacing with the sizes that are actually in use
-        applyMoonMode(); // ensures moon scales match current mode
-        for (Body p : planets) enforceMoonSeparation(p);
+        // moon scales and spacing for the current mode
+        applyMoonMode();
 
-        rebuildSaturnRings();
+        layoutRings();
         applyLightingProfile();
     }
 
-    private void applyTextureFromJson(JsonValue txNode, Body p){
-        if (txNode==null) return;
-        String type=txNode.getString("type","speckle");
-        if ("banded".equals(type)){
-            JsonValue arr=txNode.get("bands"); float jitter=txNode.getFloat("jitter",0.06f);
-            if (arr!=null && arr.size>0){
-                Color[] bands=new Color[arr.size]; int i=0;
-                for (JsonValue c:arr){ bands[i++]=new Color(c.getFloat(0),c.getFloat(1),c.getFloat(2),1f); }
-                Texture t=makeBandedTexture(512,256,bands,jitter);
-                for (Material m: p.instance.materials) m.set(TextureAttribute.createDiffuse(t));
-            }
-        } else {
-            float[] a=getColorArray(txNode.get("colorA"), new float[]{0.8f,0.8f,0.85f,1f});
-            float[] b=getColorArray(txNode.get("colorB"), new float[]{0.7f,0.7f,0.75f,1f});
-            float density=txNode.getFloat("density",0.002f);
-            Texture t=makeSpeckleTexture(512,256,new Color(a[0],a[1],a[2],1f), new Color(b[0],b[1],b[2],1f), density);
-            for (Material m: p.instance.materials) m.set(TextureAttribute.createDiffuse(t));
-        }
-    }
-    private void applyGenericMoonTexture(Moon m){
-        Texture t=makeSpeckleTexture(512,256,new Color(0.8f,0.8f,0.85f,1f), new Color(0.7f,0.7f,0.75f,1f), 0.0025f);
-        for (Material mat: m.instance.materials) mat.set(TextureAttribute.createDiffuse(t));
+    /** Planets and belts first, then moons, so every moon's parent is propagated before it. */
+    private void registerBodiesInSim(){
+        sim.clear();
+        for (Body p : planets) p.simIndex = sim.add(p.currentAWorld(), p.e, p.periodDays, p.inclinationDeg, p.spinPeriodDays, UniverseSim.NO_PARENT);
+        for (Belt b : belts) b.register(sim, sceneLayout);
+        for (Moon m : moons)   m.simIndex = sim.add(m.aEff, m.e, m.periodDays, m.inclinationDeg, m.spinPeriodDays, m.parent.simIndex);
     }
 
-    // ----- Sizes -----
-    private float planetVisualRadius(float radiusKm){
-        // If true proportions: visual radius ~ linear to actual radius, normalized by Earth
-        if (truePlanetProportions) {
-            return (float)(planetSizeScale * (radiusKm / 6371.0));
-        }
-        // Otherwise: perceptual (cube-root) mapping for legibility
-        double earth = Math.cbrt(6371.0), r = Math.cbrt(radiusKm);
-        return (float)(planetSizeScale * (1.2 * (r/earth)));
-    }
-
-    private float moonVisualRadiusExaggerated(float radiusKm){
-        // Perceptual mapping for exag. mode (a bit smaller than before) + model multiplier
-        double moon = Math.cbrt(1737.0), r = Math.cbrt(radiusKm);
-        return (float)(moonExagScale * (0.60 * (r/moon)));
-    }
-
-    private float moonVisualRadiusRealistic(float radiusKm){
-        // If true proportions in realistic mode: linear to actual radius, normalized by our Moon
-        if (trueMoonProportionsInRealistic) {
-            return (float)(moonRealScale * (radiusKm / 1737.0));
-        }
-        double moon = Math.cbrt(1737.0), r = Math.cbrt(radiusKm);
-        return (float)(moonRealScale * (0.28 * (r/moon)));
-    }
-
-    private float currentMoonVisualRadius(Moon m){
-        // Read current scale from the transform so it matches what’s on-screen
-        Vector3 s = new Vector3(); m.instance.transform.getScale(s);
-        return s.x; // uniform scale
+    private void relayoutBelts(){
+        for (Belt b : belts) b.relayout(sim, sceneLayout);
     }
 
+    private void applyGenericMoonTexture(Moon m){ requestBodyTexture(m, GENERIC_MOON_TEXTURE); }
 
+    /** Applies {@link SystemLayout#separateMoons} to {@code parent}'s visible moons and rebuilds the orbits it moved. */
     private void enforceMoonSeparation(Body parent){
         Array<Moon> list = new Array<>();
         for (Moon m : moons) if (m.parent == parent && m.visible) list.add(m);
         if (list.size <= 1) return;
-
-        list.sort((a,b) -> Float.compare(a.aEff, b.aEff));
-
-        for (int i=1; i<list.size; i++){
-            Moon inner = list.get(i-1);
-            Moon outer = list.get(i);
-
-            float rIn  = currentMoonVisualRadius(inner);
-            float rOut = currentMoonVisualRadius(outer);
-            float minGap = 1.5f * Math.max(rIn, rOut);   // your requested rule
-
-            if (outer.aEff - inner.aEff < minGap){
-                float needed = inner.aEff + minGap;
-                float dx = needed - outer.aEff;
-                outer.aEff += dx;
-                outer.bEff = outer.aEff * (float)Math.sqrt(1f - outer.e*outer.e);
-                outer.initOrbit();
-            }
+        float[] a = new float[list.size], r = new float[list.size];
+        for (int i=0; i<list.size; i++){ a[i] = list.get(i).aEff; r[i] = list.get(i).scale; }
+        SystemLayout.separateMoons(a, r, list.size);
+        for (int i=0; i<list.size; i++){
+            Moon m = list.get(i);
+            if (a[i] == m.aEff) continue;
+            m.aEff = a[i];
+            m.bEff = m.aEff * (float)Math.sqrt(1f - m.e*m.e);
+            m.initOrbit();
         }
     }
 
 
 
-    // ----- Saturn rings (optional) -----
-    private void rebuildSaturnRings(){
-        saturnBody=null; for (Body p:planets) if ("Saturn".equals(p.name)) { saturnBody=p; break; }
-        if (saturnBody==null) return;
-        float inner=saturnBody.visualScale*1.25f, outer=saturnBody.visualScale*2.0f;
-        float minMoonPeri=Float.POSITIVE_INFINITY;
-        for (Moon m:moons) if (m.parent==saturnBody && m.visible) minMoonPeri=Math.min(minMoonPeri, m.getPeriapsisWorld());
-        if (minMoonPeri<Float.POSITIVE_INFINITY){ outer=Math.min(outer, minMoonPeri*0.70f); inner=Math.min(inner, outer*0.75f); }
+    // ----- Rings -----
+    /** Ring radii from each ringed planet's spec, kept inside its innermost visible moon; no GPU work. */
+    private void layoutRings(){
+        for (Body p:planets){
+            if (p.rings==null) continue;
+            float r=p.drawnRadius(), inner=p.rings.inner*r, outer=p.rings.outer*r;
+            float minMoonPeri=Float.POSITIVE_INFINITY;
+            for (Moon m:moons) if (m.parent==p && m.visible) minMoonPeri=Math.min(minMoonPeri, m.getPeriapsisWorld());
+            if (minMoonPeri<Float.POSITIVE_INFINITY){ outer=Math.min(outer, minMoonPeri*0.70f); inner=Math.min(inner, outer*0.75f); }
+            p.ringInner=inner; p.ringOuter=outer;
+        }
+    }
 
-        Material ringMat;
-        if (saturnRingInstance==null){
-            if (txSaturnRings==null) txSaturnRings=makeSaturnRingTexture(1024,64);
-            ringMat=new Material(new BlendingAttribute(true,1f), TextureAttribute.createDiffuse(txSaturnRings), ColorAttribute.createDiffuse(1f,1f,1f,1f), FloatAttribute.createShininess(8f));
-        } else {
-            ringMat=saturnRingInstance.materials.first(); if (saturnRingModel!=null) saturnRingModel.dispose();
+    /** After the opaque bodies: the rings the frame found in view (of planets drawn as meshes). */
+    private void drawRings(float ambient){
+        if (frame.ringBodies.isEmpty()) return;
+        ringRenderer.begin(camera, sunPoint.color, sunPoint.intensity, ambient);
+        for (Body p:frame.ringBodies){
+            tmpM4.idt().rotate(Vector3.X, p.spinTiltDeg).setTranslation(p.position);
+            ringRenderer.draw(tmpM4, p.ringInner, p.ringOuter, p.rings);
         }
-        saturnRingModel=createRingModel(inner,outer,128, ringMat); saturnRingInstance=new ModelInstance(saturnRingModel);
+        ringRenderer.end();
     }
 
-    // ----- Utils -----
-    private float[] getColorArray(JsonValue v,float[] def){ if (v==null||v.size<3) return def; float r=v.getFloat(0),g=v.getFloat(1),b=v.getFloat(2); float a=v.size>3?v.getFloat(3):1f; return new float[]{r,g,b,a}; }
-    private Color readColor(JsonValue v,Color def){ if (v==null||v.size<3) return def; return new Color(v.getFloat(0),v.getFloat(1),v.getFloat(2), v.size>3?v.getFloat(3):1f); }
 }
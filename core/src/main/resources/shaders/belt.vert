@@ -0,0 +1,28 @@
+// Belt particles: one small rock mesh drawn once per instance (a_offset = world xyz + radius).
+// With POINTS defined the mesh is a plain point list and a_offset is the per-vertex position.
+attribute vec4 a_offset;
+#ifndef POINTS
+attribute vec3 a_position;
+attribute vec3 a_normal;
+#endif
+
+uniform mat4 u_projViewTrans;
+uniform vec3 u_color;
+uniform vec3 u_lightColor;
+uniform float u_ambient;
+
+varying vec3 v_color;
+
+void main() {
+    vec3 toSun = normalize(-a_offset.xyz);
+#ifdef POINTS
+    vec3 world = a_offset.xyz;
+    float diff = 0.6;
+    gl_PointSize = 2.0;
+#else
+    vec3 world = a_offset.xyz + a_position * a_offset.w;
+    float diff = max(dot(a_normal, toSun), 0.0);
+#endif
+    v_color = u_color * (u_ambient + diff * u_lightColor);
+    gl_Position = u_projViewTrans * vec4(world, 1.0);
+}
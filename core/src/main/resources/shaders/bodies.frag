@@ -0,0 +1,10 @@
+#ifdef GL_ES
+precision highp float;
+#endif
+// InstancedBodyRenderer inserts surface.glsl (with SURFACE_INSTANCED defined) here
+
+varying vec3 v_light;
+
+void main() {
+    gl_FragColor = vec4(vibeSurface(normalize(v_surfPos)) * v_light, 1.0);
+}
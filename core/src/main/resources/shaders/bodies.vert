@@ -0,0 +1,41 @@
+// Instanced planets and moons (InstancedBodyRenderer): one unit sphere mesh, one instance per body.
+// Lighting is libGDX DefaultShader's per-vertex model: ambient, directional lights and the star as a point light.
+#define MAX_DIR_LIGHTS 2
+attribute vec3 a_position;
+attribute vec3 a_normal;
+attribute vec4 a_row0;      // world transform, rows of the upper 3x4
+attribute vec4 a_row1;
+attribute vec4 a_row2;
+attribute vec4 a_surf;      // surface type, params.x, params.y, palette row
+attribute vec2 a_surfGrid;
+
+uniform mat4 u_projViewTrans;
+uniform vec3 u_ambient;
+uniform vec3 u_pointColor;  // colour * intensity
+uniform vec3 u_pointPosition;
+uniform vec3 u_dirColor[MAX_DIR_LIGHTS];
+uniform vec3 u_dirDirection[MAX_DIR_LIGHTS];
+uniform float u_paletteRows; // height of the palette texture
+
+varying vec3 v_surfPos;
+varying vec4 v_surf;
+varying vec2 v_surfGrid;
+varying vec3 v_light;
+
+void main() {
+    vec4 p = vec4(a_position, 1.0);
+    vec3 world = vec3(dot(a_row0, p), dot(a_row1, p), dot(a_row2, p));
+    vec3 normal = normalize(vec3(dot(a_row0.xyz, a_normal), dot(a_row1.xyz, a_normal), dot(a_row2.xyz, a_normal)));
+
+    vec3 light = u_ambient;
+    for (int i = 0; i < MAX_DIR_LIGHTS; i++) light += u_dirColor[i] * clamp(dot(normal, -u_dirDirection[i]), 0.0, 1.0);
+    vec3 toLight = u_pointPosition - world;
+    float dist2 = dot(toLight, toLight);
+    light += u_pointColor * (clamp(dot(normal, toLight * inversesqrt(dist2)), 0.0, 1.0) / (1.0 + dist2));
+
+    v_light = light;
+    v_surfPos = a_position;
+    v_surf = vec4(a_surf.xyz, (a_surf.w + 0.5) / u_paletteRows);
+    v_surfGrid = a_surfGrid;
+    gl_Position = u_projViewTrans * vec4(world, 1.0);
+}
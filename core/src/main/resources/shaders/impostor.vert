@@ -0,0 +1,24 @@
+// Body impostors: one GL_POINTS vertex per body too small to be worth a sphere mesh.
+// Lit like the sphere it stands in for: the star is a point light at the origin (DefaultShader falloff), and the
+// lit fraction of the disc seen from the camera follows the phase angle.
+attribute vec3 a_position;
+attribute vec4 a_color;    // rgb = material diffuse, a = pixel coverage of the body
+attribute float a_size;    // sprite diameter in pixels
+
+uniform mat4 u_projViewTrans;
+uniform vec3 u_cameraPosition;
+uniform vec3 u_lightColor;
+uniform float u_lightIntensity;
+uniform float u_ambient;
+
+varying vec4 v_color;
+
+void main() {
+    vec3 toSun = -a_position;
+    float dist2 = dot(toSun, toSun);
+    float phase = 0.5 + 0.5 * dot(normalize(toSun), normalize(u_cameraPosition - a_position));
+    vec3 light = u_ambient + u_lightColor * (u_lightIntensity * phase / (1.0 + dist2));
+    v_color = vec4(a_color.rgb * min(light, vec3(1.0)), a_color.a);
+    gl_PointSize = a_size;
+    gl_Position = u_projViewTrans * vec4(a_position, 1.0);
+}
@@ -0,0 +1,9 @@
+// Orbit line strips live in a static VBO in the orbit's own frame; moons are moved onto their parent by u_worldTrans.
+attribute vec3 a_position;
+
+uniform mat4 u_projViewTrans;
+uniform mat4 u_worldTrans;
+
+void main() {
+    gl_Position = u_projViewTrans * (u_worldTrans * vec4(a_position, 1.0));
+}
@@ -0,0 +1,14 @@
+#ifdef GL_ES
+precision mediump float;
+#endif
+
+uniform sampler2D u_profile;   // radial colour/opacity, inner edge at u = 0
+uniform vec4 u_tint;           // rgb tint, a = opacity
+
+varying float v_edge;
+varying vec3 v_light;
+
+void main() {
+    vec4 c = texture2D(u_profile, vec2(v_edge, 0.5)) * u_tint;
+    gl_FragColor = vec4(c.rgb * v_light, c.a);
+}
@@ -0,0 +1,24 @@
+// Planetary rings: one shared unit annulus, placed per ring by u_radii (inner, outer) and u_worldTrans.
+// Lit per vertex like DefaultShader from the star at the origin; the ring is thin, so both faces take the light.
+attribute vec3 a_ring;     // cos, sin, edge (0 = inner, 1 = outer)
+
+uniform mat4 u_projViewTrans;
+uniform mat4 u_worldTrans;
+uniform vec2 u_radii;
+uniform vec3 u_lightColor;  // colour * intensity
+uniform float u_ambient;
+
+varying float v_edge;
+varying vec3 v_light;
+
+void main() {
+    float r = mix(u_radii.x, u_radii.y, a_ring.z);
+    vec4 pos = u_worldTrans * vec4(a_ring.x * r, 0.0, a_ring.y * r, 1.0);
+    vec3 normal = normalize(mat3(u_worldTrans[0].xyz, u_worldTrans[1].xyz, u_worldTrans[2].xyz) * vec3(0.0, 1.0, 0.0));
+    vec3 toSun = -pos.xyz;
+    float dist2 = dot(toSun, toSun);
+    float ndl = abs(dot(normal, normalize(toSun)));
+    v_light = vec3(u_ambient) + u_lightColor * (ndl / (1.0 + dist2));
+    v_edge = a_ring.z;
+    gl_Position = u_projViewTrans * pos;
+}
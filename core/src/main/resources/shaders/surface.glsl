@@ -0,0 +1,67 @@
+// Procedural body surfaces, spliced into libGDX's default fragment shader by ProceduralSurfaceShader and included
+// by the instanced body shader (SURFACE_INSTANCED: parameters per instance, colours from a palette texture).
+// Mirrors ProceduralTextures.speckle/banded, evaluated per fragment from the sphere's object-space position.
+// GLSL 1.20 / ES 2.0: no integer bit ops, loops have constant bounds.
+#define MAX_BANDS 8
+
+varying vec3 v_surfPos;
+
+#ifdef SURFACE_INSTANCED
+varying vec4 v_surf;               // type (0 speckle, 1 banded, 2 flat), params.x, params.y, palette row (v)
+varying vec2 v_surfGrid;
+uniform sampler2D u_surfPalette;   // per row: colorA, colorB, bands[MAX_BANDS]
+#define SURF_TYPE v_surf.x
+#define SURF_PARAMS v_surf.yz
+#define SURF_GRID v_surfGrid
+vec3 surfPalette(float k){ return texture2D(u_surfPalette, vec2((k + 0.5) / float(MAX_BANDS + 2), v_surf.w)).rgb; }
+vec3 surfColorA(){ return surfPalette(0.0); }
+vec3 surfColorB(){ return surfPalette(1.0); }
+vec3 surfBand(int idx){ return surfPalette(float(idx) + 2.0); }
+#else
+uniform float u_surfType;          // 0 = speckle, 1 = banded
+uniform vec3  u_surfColorA;
+uniform vec3  u_surfColorB;
+uniform vec3  u_surfParams;        // speckle: density, seed, -; banded: jitter, band count, -
+uniform vec2  u_surfGrid;         // equivalent texture size (speck cell grid)
+uniform vec3  u_surfBands[MAX_BANDS];
+#define SURF_TYPE u_surfType
+#define SURF_PARAMS u_surfParams.xy
+#define SURF_GRID u_surfGrid
+vec3 surfColorA(){ return u_surfColorA; }
+vec3 surfColorB(){ return u_surfColorB; }
+vec3 surfBand(int idx){
+	vec3 c = u_surfBands[0];
+	for (int k = 1; k < MAX_BANDS; k++) if (k == idx) c = u_surfBands[k];
+	return c;
+}
+#endif
+
+float surfHash(vec2 p){ return fract(sin(dot(p, vec2(12.9898, 78.233))) * 43758.5453); }
+float surfNoise(vec2 p){
+	vec2 i = floor(p), f = p - i;
+	vec2 s = f * f * (3.0 - 2.0 * f);
+	float a = surfHash(i), b = surfHash(i + vec2(1.0, 0.0));
+	float c = surfHash(i + vec2(0.0, 1.0)), d = surfHash(i + vec2(1.0, 1.0));
+	return mix(mix(a, b, s.x), mix(c, d, s.x), s.y);
+}
+vec3 vibeSurface(vec3 n){
+	// equirectangular coordinates matching the CPU textures: u around +Y, t = 0 at the +Y pole
+#ifdef SURFACE_INSTANCED
+	if (SURF_TYPE > 1.5) return surfColorA();
+#endif
+	float u = atan(n.z, n.x) * 0.15915494 + 0.5;
+	float t = acos(clamp(n.y, -1.0, 1.0)) * 0.31830989;
+	if (SURF_TYPE < 0.5){
+		vec2 cell = floor(vec2(u, t) * SURF_GRID);
+		return surfHash(cell + vec2(SURF_PARAMS.y, 0.0)) < SURF_PARAMS.x ? surfColorB() : surfColorA();
+	}
+	float nb = max(SURF_PARAMS.y, 2.0), pos = t * nb;
+	float i = min(nb - 1.0, floor(pos)), frac = pos - i;
+	float turb = surfNoise(vec2(t * 6.0, 0.0)) * 0.6 + surfNoise(vec2(t * 12.0, 3.3)) * 0.3 + surfNoise(vec2(t * 24.0, 7.7)) * 0.1 - 0.5;
+	float f = clamp(frac + turb * SURF_PARAMS.x * 1.2, 0.0, 1.0);
+	float last = SURF_PARAMS.y - 1.0;
+	vec3 c = mix(surfBand(int(min(i, last))), surfBand(int(min(i + 1.0, last))), f);
+	float streak = (surfNoise(vec2(u, t) * 18.0) * 0.7 + surfNoise(vec2(u * 36.0, t * 14.4)) * 0.3 - 0.5) * 0.08;
+	return clamp(c + vec3(streak, streak, streak * 0.6), 0.0, 1.0);
+}
+
@@ -1,7 +1,12 @@
 package net.joostvdg.vibe_universe;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Os;
+import com.badlogic.gdx.utils.SharedLibraryLoader;
 
 public class DesktopLauncher {
     public static void main(String[] args) {
@@ -10,6 +15,23 @@ public class DesktopLauncher {
         config.setWindowedMode(1280, 720);
         config.useVsync(true);
         config.setForegroundFPS(60);
-        new Lwjgl3Application(new VibeUniverse(), config);
+        // GL 3.2 for instanced belts and bodies; relaunched on GL20 below when the driver can't provide it
+        config.setOpenGLEmulation(Lwjgl3ApplicationConfiguration.GLEmulation.GL30, 3, 2);
+        if (SharedLibraryLoader.os == Os.MacOsX) {
+            // macOS only hands out 3.2 core profiles, which reject GLSL 1.10-style shaders
+            ShaderProgram.prependVertexCode = "#version 150\n#define attribute in\n#define varying out\n";
+            ShaderProgram.prependFragmentCode = "#version 150\n#define varying in\n#define texture2D texture\n#define gl_FragColor fragColor\nout vec4 fragColor;\n";
+        }
+        try {
+            new Lwjgl3Application(new VibeUniverse(), config);
+        } catch (GdxRuntimeException ex) {
+            if (!"Couldn't create window".equals(ex.getMessage())) throw ex;
+            // no 3.2 context: a plain GL 2 context, where belts draw as points and bodies go through ModelBatch
+            Gdx.app.error("Vibe", "OpenGL 3.2 unavailable, falling back to GL20", ex);
+            ShaderProgram.prependVertexCode = "";
+            ShaderProgram.prependFragmentCode = "";
+            config.setOpenGLEmulation(Lwjgl3ApplicationConfiguration.GLEmulation.GL20, 2, 0);
+            new Lwjgl3Application(new VibeUniverse(), config);
+        }
     }
 }
@@ -0,0 +1,45 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Runs {@link ScenarioRunner} on the libGDX headless backend (files, logging and natives, but no window or GL).
+ * Options: {@code --models <dir>} (JSON system models, default {@code models/exo}), {@code --days <n>},
+ * {@code --step <days>}, {@code --repeats <n>} (timed loads per format), {@code --csv <file>} (appended),
+ * {@code --label <text>} (first CSV column, e.g. a commit id), {@code --serial} (no parallel propagation).
+ * Exits non-zero if a scenario fails.
+ */
+public class HeadlessLauncher {
+    public static void main(String[] args) throws InterruptedException {
+        ScenarioRunner.Options options = new ScenarioRunner.Options();
+        for (int i=0;i<args.length;i++){
+            String arg = args[i];
+            if (arg.equals("--serial")){ options.parallel = false; continue; }
+            if (i+1 >= args.length) usage("Missing value for " + arg);
+            String value = args[++i];
+            switch (arg){
+                case "--models":  options.models = value; break;
+                case "--days":    options.days = Double.parseDouble(value); break;
+                case "--step":    options.stepDays = Double.parseDouble(value); break;
+                case "--repeats": options.loadRepeats = Integer.parseInt(value); break;
+                case "--csv":     options.csv = value; break;
+                case "--label":   options.label = value; break;
+                default: usage("Unknown option " + arg);
+            }
+        }
+        if (options.days <= 0 || options.stepDays <= 0 || options.loadRepeats < 1) usage("--days, --step and --repeats must be positive");
+
+        ScenarioRunner runner = new ScenarioRunner(options);
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // everything happens in create()
+        new HeadlessApplication(runner, config);
+        System.exit(runner.awaitExitCode());
+    }
+
+    private static void usage(String problem){
+        System.err.println(problem);
+        System.err.println("Usage: HeadlessLauncher [--models dir] [--days n] [--step days] [--repeats n] [--csv file] [--label text] [--serial]");
+        System.exit(2);
+    }
+}
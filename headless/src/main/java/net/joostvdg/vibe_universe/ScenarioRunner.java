@@ -0,0 +1,297 @@
+package net.joostvdg.vibe_universe;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.File;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Scripted, deterministic benchmark scenarios (launched by {@link HeadlessLauncher}). For the built-in Sol model
+ * and every JSON model in the models directory, after one untimed warm-up pass over all of them:
+ * <ol>
+ *   <li>load it {@code repeats} times from JSON and from its binary form into a {@link UniverseSim}, laid out with
+ *       the renderer's {@link SystemLayout} rules (median time of each),</li>
+ *   <li>advance {@code days} at a fixed {@code step} while walking the SIM toggles the way a user would: exaggerated
+ *       moons, distance compression on, realistic moons, moons hidden with compression off,</li>
+ *   <li>report the per-step propagation time (mean, p50, p95, max), the heap the loaded system retains, the bytes
+ *       allocated per step and a position checksum.</li>
+ * </ol>
+ * Nothing depends on the wall clock or on unseeded randomness, so the checksum only changes when the physics or
+ * the layout does; timings are for comparing commits on the same machine.
+ */
+public final class ScenarioRunner extends ApplicationAdapter {
+    public static final long SEED = 1801L;
+    private static final int WARMUP_STEPS = 20000;
+    private static final String CSV_HEADER = "label,model,bodies,load_json_ms,load_vsys_ms,steps,step_mean_us,step_p50_us,"
+            + "step_p95_us,step_max_us,heap_kb,alloc_bytes_per_step,checksum";
+
+    public static final class Options {
+        public String models = "models/exo";
+        public double days = 3650.0;
+        public double stepDays = 10.0 / 60.0;   // the default 10 d/s at 60 fps
+        public int loadRepeats = 5;
+        public String csv;                      // null: console only
+        public String label = "";
+        public boolean parallel = true;
+    }
+
+    /** SIM toggles, applied in order, each for an equal share of the steps. */
+    private enum Stage {
+        EXAGGERATED(false, MoonMode.EXAGGERATED), COMPRESSED(true, MoonMode.EXAGGERATED),
+        REALISTIC(true, MoonMode.REALISTIC), HIDDEN(false, MoonMode.HIDDEN);
+        final boolean compress; final MoonMode moons;
+        Stage(boolean compress, MoonMode moons){ this.compress=compress; this.moons=moons; }
+    }
+    private enum MoonMode { EXAGGERATED, REALISTIC, HIDDEN }
+
+    private final Options options;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final StringBuilder csv = new StringBuilder();
+    private volatile int exitCode;
+
+    public ScenarioRunner(Options options){ this.options = options; }
+
+    /** Blocks until the application has been disposed; the process exit code. */
+    public int awaitExitCode() throws InterruptedException { finished.await(); return exitCode; }
+
+    @Override public void create(){
+        try {
+            Array<Model> models = models();
+            Gdx.app.log("Vibe", String.format(Locale.ROOT, "%d scenarios: %.0f days at %.4f d/step, %s propagation",
+                    models.size, options.days, options.stepDays, options.parallel ? "parallel" : "serial"));
+            // the first scenarios would otherwise pay for class loading and JIT compilation of the whole path
+            for (Model model : models) run(model, false);
+            for (Model model : models) run(model, true);
+            if (options.csv != null) writeCsv(resolve(options.csv));
+        } catch (Exception e){
+            Gdx.app.error("Vibe", "Scenario run failed", e);
+            exitCode = 1;
+        }
+        Gdx.app.exit();
+    }
+
+    @Override public void dispose(){ finished.countDown(); }
+
+    /** The built-in Sol model followed by every JSON model in the models directory (sol-main-belt carries the belt). */
+    private Array<Model> models(){
+        Array<Model> models = new Array<>();
+        models.add(new Model("sol", () -> new StringReader(VibeUniverse.SOL_MODEL_JSON), VibeUniverse.SOL_MODEL_JSON.length()));
+        FileHandle dir = resolve(options.models);
+        FileHandle[] files = dir.list(".json");
+        if (files.length == 0) throw new IllegalStateException("No .json models in " + dir.file().getAbsolutePath());
+        Arrays.sort(files, (a, b) -> a.name().compareTo(b.name()));
+        for (FileHandle f : files) models.add(new Model(f.nameWithoutExtension(), () -> f.reader(8192, "UTF-8"), f.length()));
+        return models;
+    }
+
+    // ----- Scenario -----
+    /** A system model to load, by name. */
+    private static final class Model {
+        final String name; final SystemStreamLoader.Source source; final long length;
+        Model(String name, SystemStreamLoader.Source source, long length){ this.name=name; this.source=source; this.length=length; }
+    }
+
+    private void run(Model model, boolean record) throws Exception {
+        MathUtils.random.setSeed(SEED);
+        byte[] vsys = toBinary(model);
+
+        // loads: one untimed pass of each, then the median of the timed ones
+        int repeats = record ? options.loadRepeats : 1;
+        long[] jsonNs = new long[repeats], vsysNs = new long[repeats];
+        loadJson(model); loadBinary(vsys);
+        for (int i=0;i<repeats;i++){
+            long t0 = System.nanoTime(); loadJson(model);
+            long t1 = System.nanoTime(); loadBinary(vsys);
+            jsonNs[i] = t1 - t0; vsysNs[i] = System.nanoTime() - t1;
+        }
+
+        long heapBefore = record ? usedHeap() : 0L;
+        SimScene scene = loadBinary(vsys);
+        long heapBytes = record ? Math.max(0L, usedHeap() - heapBefore) : 0L;   // noise can exceed a tiny system
+
+        int steps = Math.max(1, (int)Math.round(options.days / options.stepDays));
+        if (!record) steps = Math.min(steps, WARMUP_STEPS);
+        long[] stepNs = new long[steps];
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Stage[] stages = Stage.values();
+        long allocated = 0;
+        int step = 0;
+        for (int s=0;s<stages.length;s++){
+            scene.apply(stages[s]);
+            int end = (int)((long)steps * (s+1) / stages.length);
+            long before = mx.getThreadAllocatedBytes(threadId);
+            for (; step<end; step++){
+                long t0 = System.nanoTime();
+                double days = (step+1) * options.stepDays;
+                scene.sim.update(days);
+                scene.sim.updateSpinRealistic(days);
+                stepNs[step] = System.nanoTime() - t0;
+            }
+            allocated += mx.getThreadAllocatedBytes(threadId) - before;
+        }
+        if (!record) return;
+
+        Arrays.sort(stepNs);
+        long sum = 0; for (long ns : stepNs) sum += ns;
+        report(model.name, scene.sim.count(), median(jsonNs) / 1e6, median(vsysNs) / 1e6, steps,
+                sum / (double)steps / 1e3, percentile(stepNs, 0.50) / 1e3, percentile(stepNs, 0.95) / 1e3,
+                stepNs[steps-1] / 1e3, heapBytes >> 10, allocated / (double)steps, scene.checksum());
+    }
+
+    private SimScene loadJson(Model model) throws Exception {
+        SimScene scene = new SimScene(options.parallel);
+        SystemJson.read(model.source, model.length, scene);
+        scene.register();
+        return scene;
+    }
+
+    private SimScene loadBinary(byte[] vsys){
+        SimScene scene = new SimScene(options.parallel);
+        SystemBinary.wrap(vsys).replay(scene);
+        scene.register();
+        return scene;
+    }
+
+    /** Converted in memory so the run never writes next to the models. */
+    private static byte[] toBinary(Model model) throws Exception {
+        SystemBinary.Writer w = new SystemBinary.Writer();
+        SystemJson.read(model.source, model.length, w);
+        return w.toBytes();
+    }
+
+    // ----- Reporting -----
+    private void report(String model, int bodies, double jsonMs, double vsysMs, int steps, double meanUs, double p50Us,
+                        double p95Us, double maxUs, long heapKb, double allocPerStep, double checksum){
+        Gdx.app.log("Vibe", String.format(Locale.ROOT,
+                "%-12s %6d bodies | load json %8.3f ms, vsys %8.3f ms | %d steps: mean %8.2f us, p50 %8.2f, p95 %8.2f, max %9.2f"
+                        + " | heap %6d KB | %.1f B/step | checksum %.6f",
+                model, bodies, jsonMs, vsysMs, steps, meanUs, p50Us, p95Us, maxUs, heapKb, allocPerStep, checksum));
+        csv.append(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%d,%.3f,%.3f,%.3f,%.3f,%d,%.1f,%.6f%n",
+                options.label, model, bodies, jsonMs, vsysMs, steps, meanUs, p50Us, p95Us, maxUs, heapKb, allocPerStep, checksum));
+    }
+
+    private void writeCsv(FileHandle file){
+        boolean fresh = !file.exists() || file.length() == 0;
+        file.writeString((fresh ? CSV_HEADER + System.lineSeparator() : "") + csv, true, "UTF-8");
+        Gdx.app.log("Vibe", "Results appended to " + file.file().getAbsolutePath());
+    }
+
+    private static FileHandle resolve(String path){ return Gdx.files.absolute(new File(path).getAbsolutePath()); }
+
+    private static long median(long[] ns){ long[] s = ns.clone(); Arrays.sort(s); return s[s.length/2]; }
+    private static long percentile(long[] sorted, double q){ return sorted[Math.min(sorted.length-1, (int)(q * sorted.length))]; }
+
+    private static long usedHeap(){
+        Runtime rt = Runtime.getRuntime();
+        for (int i=0;i<3;i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    // ----- Scene -----
+    /**
+     * The GL-free half of the renderer's scene builder: the same bodies, layout (moon spacing included) and sim
+     * registration order.
+     */
+    private static final class SimScene implements SystemSink {
+        final UniverseSim sim = new UniverseSim();
+        final SystemLayout layout = new SystemLayout();
+        final Array<Planet> planets = new Array<>();
+        final Array<Moon> moons = new Array<>();
+        final Array<Belt> belts = new Array<>();
+
+        SimScene(boolean parallel){ sim.setParallel(parallel); }
+
+        @Override public void header(String name, String description, float distanceScale, float planetSizeScale,
+                                     float moonExaggeratedScale, float moonRealisticScale,
+                                     boolean truePlanetProps, boolean trueMoonPropsInRealistic,
+                                     Color starColor, Color starEmiss, float starRadius){
+            layout.header(distanceScale, planetSizeScale, moonExaggeratedScale, moonRealisticScale, truePlanetProps, trueMoonPropsInRealistic);
+        }
+
+        @Override public void planet(String name, int index, float aAU, float e, float periodDays, float radiusKm,
+                                     float inc, float tilt, float rotationDays, Color color, TextureSpec texture, RingSpec rings){
+            planets.add(new Planet(aAU, e, periodDays, inc, rotationDays, layout.planetVisualRadius(radiusKm)));
+        }
+
+        @Override public void moon(int planet, String name, float aAU, float e, float periodDays, int radiusKm, float inc){
+            moons.add(new Moon(planets.get(planet), aAU, e, periodDays, inc,
+                    layout.moonVisualRadiusExaggerated(radiusKm), layout.moonVisualRadiusRealistic(radiusKm)));
+        }
+
+        @Override public void belt(String name, int count, long seed, float aMin, float aMax, float eMin, float eMax,
+                                   float incMin, float incMax, float size, float starMass, Color color){
+            belts.add(Belt.generate(name, count, seed, aMin, aMax, eMin, eMax, incMin, incMax, size, starMass, color));
+        }
+
+        /** Planets and belts first, then moons (sim depth order), as VibeUniverse.registerBodiesInSim(). */
+        void register(){
+            sim.clear();
+            for (Planet p : planets) p.simIndex = sim.add(layout.orbitAWorld(p.aAU), p.e, p.periodDays, p.inc, p.spinDays, UniverseSim.NO_PARENT);
+            for (Belt b : belts) b.register(sim, layout);
+            layoutMoons(MoonMode.EXAGGERATED);
+            for (Moon m : moons) m.simIndex = sim.add(m.a, m.e, m.periodDays, m.inc, m.periodDays, m.parent.simIndex);
+        }
+
+        /** The relayout the renderer does on the same toggles; hidden moons keep their orbits and are still propagated. */
+        void apply(Stage stage){
+            layout.compressDistances = stage.compress;
+            for (Planet p : planets) sim.setSemiMajorAxis(p.simIndex, layout.orbitAWorld(p.aAU));
+            for (Belt b : belts) b.relayout(sim, layout);
+            if (stage.moons == MoonMode.HIDDEN) return;
+            layoutMoons(stage.moons);
+            for (Moon m : moons) sim.setSemiMajorAxis(m.simIndex, m.a);
+        }
+
+        /** Each moon's semi-major axis at {@code mode}'s radii, siblings spaced by {@link SystemLayout#separateMoons}. */
+        private void layoutMoons(MoonMode mode){
+            Array<Moon> siblings = new Array<>();
+            for (Planet p : planets){
+                siblings.clear();
+                for (Moon m : moons) if (m.parent == p) siblings.add(m);
+                float[] a = new float[siblings.size], r = new float[siblings.size];
+                for (int i=0;i<siblings.size;i++){
+                    Moon m = siblings.get(i);
+                    r[i] = mode == MoonMode.EXAGGERATED ? m.exaggerated : m.realistic;
+                    a[i] = layout.moonAWorld(m.aAU, m.e, p.radius, r[i]);
+                }
+                SystemLayout.separateMoons(a, r, siblings.size);
+                for (int i=0;i<siblings.size;i++) siblings.get(i).a = a[i];
+            }
+        }
+
+        double checksum(){
+            double sum = 0;
+            for (int i=0;i<sim.count();i++) sum += sim.x(i) + 2.0*sim.y(i) + 3.0*sim.z(i);
+            return sum;
+        }
+    }
+
+    private static final class Planet {
+        final float aAU, e, periodDays, inc, spinDays, radius;
+        int simIndex;
+        Planet(float aAU, float e, float periodDays, float inc, float spinDays, float radius){
+            this.aAU=aAU; this.e=e; this.periodDays=periodDays; this.inc=inc; this.spinDays=spinDays; this.radius=radius;
+        }
+    }
+
+    private static final class Moon {
+        final Planet parent;
+        final float aAU, e, periodDays, inc, exaggerated, realistic;
+        float a;   // world semi-major axis as last laid out
+        int simIndex;
+        Moon(Planet parent, float aAU, float e, float periodDays, float inc, float exaggerated, float realistic){
+            this.parent=parent; this.aAU=aAU; this.e=e; this.periodDays=periodDays; this.inc=inc;
+            this.exaggerated=exaggerated; this.realistic=realistic;
+        }
+    }
+}